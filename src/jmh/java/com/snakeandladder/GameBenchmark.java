@@ -0,0 +1,43 @@
+package com.snakeandladder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// One complete headless game, start to winner
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GameBenchmark {
+
+    @Param({"2", "6"})
+    public int players;
+
+    private GameEngine engine;
+    private DiceSource dice;
+
+    @Setup
+    public void setup() {
+        engine = new GameEngine(BoardLayout.classic());
+        dice = DiceSource.seeded(42);
+    }
+
+    @Benchmark
+    public int fullGame() {
+        engine.start(players);
+        return engine.playToEnd(dice);
+    }
+}
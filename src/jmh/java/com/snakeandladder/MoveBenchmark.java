@@ -0,0 +1,70 @@
+package com.snakeandladder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of resolving a single move: the snake/ladder lookups the controller does,
+// the raw jump table, and a full engine turn on top of it.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoveBenchmark {
+
+    // Pre-rolled inputs so the RNG isn't part of the measurement
+    private static final int MASK = 1023;
+
+    private BoardLayout layout;
+    private GameEngine engine;
+    private int[] squares;
+    private int[] rolls;
+    private int i;
+
+    @Setup
+    public void setup() {
+        layout = BoardLayout.classic();
+        engine = new GameEngine(layout);
+        engine.start(2);
+
+        SplittableRandom random = new SplittableRandom(42);
+        squares = new int[MASK + 1];
+        rolls = new int[MASK + 1];
+        for (int k = 0; k <= MASK; k++) {
+            squares[k] = random.nextInt(1, layout.getFinalSquare() + 1);
+            rolls[k] = random.nextInt(1, 7);
+        }
+    }
+
+    @Benchmark
+    public int snakeThenLadderLookup() {
+        int square = squares[i++ & MASK];
+        int tail = layout.getSnakeTail(square);
+        return tail != -1 ? tail : layout.getLadderTop(square);
+    }
+
+    @Benchmark
+    public int jumpTable() {
+        return layout.getJump(squares[i++ & MASK]);
+    }
+
+    @Benchmark
+    public GameEngine.TurnResult engineTurn() {
+        if (!engine.isGameRunning()) {
+            engine.start(2);
+        }
+        return engine.playTurn(rolls[i++ & MASK]);
+    }
+}
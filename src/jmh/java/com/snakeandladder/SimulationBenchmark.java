@@ -0,0 +1,44 @@
+package com.snakeandladder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Batch simulation throughput at 1, 4 and all threads (0 = every core).
+// One operation is a whole batch of games, so ops/s x GAMES = games/s.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SimulationBenchmark {
+
+    private static final long GAMES = 100_000;
+
+    @Param({"1", "4", "0"})
+    public int threads;
+
+    private MonteCarloSimulator simulator;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        simulator = new MonteCarloSimulator(BoardLayout.classic(), 4, threads);
+    }
+
+    @Benchmark
+    public SimulationResult batch() {
+        return simulator.run(GAMES, seed++);
+    }
+}
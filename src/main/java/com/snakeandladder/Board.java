@@ -1,35 +1,89 @@
 package com.snakeandladder;
 
 import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
 import javafx.scene.shape.Line;
+import javafx.scene.shape.QuadCurve;
 import javafx.scene.shape.StrokeLineCap;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 public class Board {
 
+    // How the board gets on screen
+    public enum RenderMode {
+        NODES,  // One Tile node per square plus shape nodes for snakes and ladders
+        CANVAS, // Everything painted onto canvases, see CanvasBoardRenderer
+        VIEWPORT // Only the visible part painted, with zoom and pan, see ViewportBoardRenderer
+    }
+
     private Group boardGroup;
     private List<Tile> tiles;
-    private final int ROWS = 10;
-    private final int COLS = 10;
+    private final int ROWS;
+    private final int COLS;
     private double tileSize = 60; // Default size, will resize
+    // Canvas sides stay under the usual GPU texture limit
+    private static final double MAX_CANVAS_SIZE = 8192;
+    // Canvas boards aren't painted until the first resize says how much room
+    // there is, at the default size a big layout would be a huge canvas
+    private boolean needsDraw;
     private double width;
     private double height;
     
     // Logic for Snakes and Ladders
-    private Map<Integer, Integer> snakes;
-    private Map<Integer, Integer> ladders;
+    private BoardLayout layout;
     private Group slElementsGroup; // Group to hold graphical lines for snakes/ladders
+    private CanvasBoardRenderer canvasRenderer; // Only set in CANVAS mode
+    private ViewportBoardRenderer viewportRenderer; // Only set in VIEWPORT mode
+    
+    // Retained snake and ladder nodes (NODES mode), created once per layout
+    private Line[] leftRails;
+    private Line[] rightRails;
+    private Line[][] rungs;
+    private QuadCurve[] snakeCurves;
+    private Circle[] snakeHeads;
+    private final Group snakeGroup = new Group();
+    
+    // Scratch points for redraws so a resize doesn't allocate a Point per tile
+    private final Point scratchA = new Point(0, 0);
+    private final Point scratchB = new Point(0, 0);
 
     public Board() {
+        this(BoardLayout.classic());
+    }
+
+    public Board(BoardLayout layout) {
+        this(layout, RenderMode.NODES);
+    }
+
+    public Board(BoardLayout layout, RenderMode renderMode) {
         boardGroup = new Group();
         tiles = new ArrayList<>();
         slElementsGroup = new Group();
         
-        initializeSnakesAndLadders();
+        this.layout = layout;
+        this.ROWS = layout.getRows();
+        this.COLS = layout.getCols();
+
+        if (renderMode == RenderMode.VIEWPORT) {
+            // Tile size stays fixed, zoom is applied by the renderer
+            viewportRenderer = new ViewportBoardRenderer(this);
+            boardGroup.getChildren().add(viewportRenderer.getNode());
+            return;
+        }
+
+        if (renderMode == RenderMode.CANVAS) {
+            canvasRenderer = new CanvasBoardRenderer(this);
+            boardGroup.getChildren().add(canvasRenderer.getNode());
+            needsDraw = true;
+            return;
+        }
+
+        createSnakeAndLadderNodes();
         createGrid();
         
         // Add layers: Tiles at bottom, then Snakes/Ladders on top
@@ -41,6 +95,36 @@ public class Board {
         return boardGroup;
     }
 
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    public RenderMode getRenderMode() {
+        if (viewportRenderer != null) return RenderMode.VIEWPORT;
+        return canvasRenderer != null ? RenderMode.CANVAS : RenderMode.NODES;
+    }
+
+    // Puts a player token on the board, on top of everything else
+    public void addToken(Circle token) {
+        if (viewportRenderer != null) {
+            viewportRenderer.addToken(token);
+        } else if (canvasRenderer != null) {
+            canvasRenderer.addToken(token);
+        } else {
+            boardGroup.getChildren().add(token);
+        }
+    }
+
+    public void removeToken(Circle token) {
+        if (viewportRenderer != null) {
+            viewportRenderer.removeToken(token);
+        } else if (canvasRenderer != null) {
+            canvasRenderer.removeToken(token);
+        } else {
+            boardGroup.getChildren().remove(token);
+        }
+    }
+
     private void createGrid() {
         // Clear previous tiles if any
         boardGroup.getChildren().removeAll(tiles);
@@ -59,40 +143,33 @@ public class Board {
         drawBoard();
     }
 
-    private void initializeSnakesAndLadders() {
-        snakes = new HashMap<>();
-        ladders = new HashMap<>();
-        
-        // Classic positions (Simplified for now)
-        // Snakes (Start -> End, where End < Start)
-        snakes.put(16, 6);
-        snakes.put(47, 26);
-        snakes.put(49, 11);
-        snakes.put(56, 53);
-        snakes.put(62, 19);
-        snakes.put(64, 60);
-        snakes.put(87, 24);
-        snakes.put(93, 73);
-        snakes.put(95, 75);
-        snakes.put(98, 78);
-
-        // Ladders (Start -> End, where End > Start)
-        ladders.put(1, 38);
-        ladders.put(4, 14);
-        ladders.put(9, 31);
-        ladders.put(21, 42);
-        ladders.put(28, 84);
-        ladders.put(36, 44);
-        ladders.put(51, 67);
-        ladders.put(71, 91);
-        ladders.put(80, 100);
-    }
-    
     private void drawBoard() {
+        needsDraw = false;
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
+        if (canvasRenderer != null) {
+            canvasRenderer.redrawStatic();
+        } else {
+            layoutNodes();
+        }
+        if (GameMetrics.ENABLED) {
+            GameMetrics.get().boardRedrawn(System.nanoTime() - start, countNodes(boardGroup));
+        }
+    }
+
+    private static int countNodes(Parent parent) {
+        int count = 1;
+        for (Node child : parent.getChildrenUnmodifiable()) {
+            count += child instanceof Parent ? countNodes((Parent) child) : 1;
+        }
+        return count;
+    }
+
+    private void layoutNodes() {
         // Position tiles
+        Point p = scratchA;
         for (int i = 0; i < tiles.size(); i++) {
             int number = i + 1;
-            Point p = getCoordinatesForNumber(number);
+            fillCoordinates(number, p);
             Tile t = tiles.get(i);
             t.setTranslateX(p.x);
             t.setTranslateY(p.y);
@@ -102,13 +179,55 @@ public class Board {
         drawSnakesAndLadders();
     }
     
+    // Builds the snake and ladder nodes once per layout. Redraws only move them,
+    // so dragging the window doesn't churn through new shapes every frame.
+    private void createSnakeAndLadderNodes() {
+        int ladders = layout.getLadderCount();
+        leftRails = new Line[ladders];
+        rightRails = new Line[ladders];
+        rungs = new Line[ladders][];
+        for (int l = 0; l < ladders; l++) {
+            leftRails[l] = ladderLine(3);
+            rightRails[l] = ladderLine(3);
+            rungs[l] = new Line[0];
+            slElementsGroup.getChildren().addAll(leftRails[l], rightRails[l]);
+        }
+        
+        int snakes = layout.getSnakeCount();
+        snakeCurves = new QuadCurve[snakes];
+        snakeHeads = new Circle[snakes];
+        for (int s = 0; s < snakes; s++) {
+            QuadCurve curve = new QuadCurve();
+            curve.setStroke(Color.RED);
+            curve.setStrokeWidth(4);
+            curve.setFill(null);
+            curve.setStrokeLineCap(StrokeLineCap.ROUND);
+            snakeCurves[s] = curve;
+            
+            // Head (Circle for now)
+            snakeHeads[s] = new Circle(6, Color.DARKRED);
+        }
+        // Snakes go on top of every ladder, including rungs added later
+        snakeGroup.getChildren().addAll(snakeCurves);
+        snakeGroup.getChildren().addAll(snakeHeads);
+        slElementsGroup.getChildren().add(snakeGroup);
+    }
+    
+    private static Line ladderLine(double strokeWidth) {
+        Line line = new Line();
+        line.setStroke(Color.DARKGREEN);
+        line.setStrokeWidth(strokeWidth);
+        return line;
+    }
+    
     private void drawSnakesAndLadders() {
-        slElementsGroup.getChildren().clear();
+        Point p1 = scratchA;
+        Point p2 = scratchB;
         
         // Draw Ladders (Green with rungs)
-        ladders.forEach((start, end) -> {
-            Point p1 = getCenterMoveCoordinates(start);
-            Point p2 = getCenterMoveCoordinates(end);
+        for (int l = 0; l < layout.getLadderCount(); l++) {
+            fillCenter(layout.getLadderBottom(l), p1);
+            fillCenter(layout.getLadderEnd(l), p2);
             
             // Vector direction
             double dx = p2.x - p1.x;
@@ -121,35 +240,33 @@ public class Board {
             double width = 10;
             
             // Side rails
-            Line leftRail = new Line(p1.x - nx*width, p1.y - ny*width, p2.x - nx*width, p2.y - ny*width);
-            Line rightRail = new Line(p1.x + nx*width, p1.y + ny*width, p2.x + nx*width, p2.y + ny*width);
-            
-            leftRail.setStroke(Color.DARKGREEN);
-            leftRail.setStrokeWidth(3);
-            rightRail.setStroke(Color.DARKGREEN);
-            rightRail.setStrokeWidth(3);
-            
-            slElementsGroup.getChildren().addAll(leftRail, rightRail);
+            setLine(leftRails[l], p1.x - nx*width, p1.y - ny*width, p2.x - nx*width, p2.y - ny*width);
+            setLine(rightRails[l], p1.x + nx*width, p1.y + ny*width, p2.x + nx*width, p2.y + ny*width);
             
-            // Rungs
-            int steps = (int)(length / 20);
-            for (int i = 0; i <= steps; i++) {
+            // Rungs. The count depends on the on-screen length, so the pool only
+            // grows when the board gets bigger; spare rungs are just hidden.
+            int steps = Math.max(1, (int)(length / 20));
+            Line[] pool = ensureRungs(l, steps + 1);
+            for (int i = 0; i < pool.length; i++) {
+                Line rung = pool[i];
+                if (i > steps) {
+                    rung.setVisible(false);
+                    continue;
+                }
                 double t = (double)i / steps;
                 double cx = p1.x + dx*t;
                 double cy = p1.y + dy*t;
-                Line rung = new Line(cx - nx*width, cy - ny*width, cx + nx*width, cy + ny*width);
-                rung.setStroke(Color.DARKGREEN);
-                rung.setStrokeWidth(2);
-                slElementsGroup.getChildren().add(rung);
+                setLine(rung, cx - nx*width, cy - ny*width, cx + nx*width, cy + ny*width);
+                rung.setVisible(true);
             }
-        });
+        }
 
         // Draw Snakes (Red Curves)
-        snakes.forEach((start, end) -> {
-            Point p1 = getCenterMoveCoordinates(start); // Head
-            Point p2 = getCenterMoveCoordinates(end);   // Tail
+        for (int s = 0; s < layout.getSnakeCount(); s++) {
+            fillCenter(layout.getSnakeHead(s), p1); // Head
+            fillCenter(layout.getSnakeEnd(s), p2);  // Tail
             
-            javafx.scene.shape.QuadCurve curve = new javafx.scene.shape.QuadCurve();
+            QuadCurve curve = snakeCurves[s];
             curve.setStartX(p1.x);
             curve.setStartY(p1.y);
             curve.setEndX(p2.x);
@@ -159,7 +276,6 @@ public class Board {
             double midX = (p1.x + p2.x) / 2;
             double midY = (p1.y + p2.y) / 2;
             
-            // Randomish offset for variety or fixed based on direction
             // Simple approach: Curve out perpendicular to the line connecting them
             double dx = p2.x - p1.x;
             double dy = p2.y - p1.y;
@@ -167,16 +283,32 @@ public class Board {
             curve.setControlX(midX + dy * 0.3); 
             curve.setControlY(midY - dx * 0.3);
             
-            curve.setStroke(Color.RED);
-            curve.setStrokeWidth(4);
-            curve.setFill(null);
-            curve.setStrokeLineCap(StrokeLineCap.ROUND);
-            
-            // Head (Circle for now)
-            javafx.scene.shape.Circle head = new javafx.scene.shape.Circle(p1.x, p1.y, 6, Color.DARKRED);
-            
-            slElementsGroup.getChildren().addAll(curve, head);
-        });
+            snakeHeads[s].setCenterX(p1.x);
+            snakeHeads[s].setCenterY(p1.y);
+        }
+    }
+    
+    // Rung pool for a ladder with at least the given number of lines
+    private Line[] ensureRungs(int ladder, int needed) {
+        Line[] pool = rungs[ladder];
+        if (pool.length >= needed) return pool;
+        
+        Line[] grown = Arrays.copyOf(pool, needed);
+        for (int i = pool.length; i < needed; i++) {
+            grown[i] = ladderLine(2);
+        }
+        // Keep rungs under the snakes
+        slElementsGroup.getChildren().addAll(slElementsGroup.getChildren().indexOf(snakeGroup),
+                Arrays.asList(grown).subList(pool.length, needed));
+        rungs[ladder] = grown;
+        return grown;
+    }
+    
+    private static void setLine(Line line, double x1, double y1, double x2, double y2) {
+        line.setStartX(x1);
+        line.setStartY(y1);
+        line.setEndX(x2);
+        line.setEndY(y2);
     }
 
     // Helper class for coordinates
@@ -186,8 +318,15 @@ public class Board {
     }
     
     // Calculates top-left corner of the tile for placement
-    private Point getCoordinatesForNumber(int number) {
-        int row = (number - 1) / ROWS; 
+    Point getCoordinatesForNumber(int number) {
+        Point p = new Point(0, 0);
+        fillCoordinates(number, p);
+        return p;
+    }
+    
+    // Same as getCoordinatesForNumber, written into an existing point
+    void fillCoordinates(int number, Point out) {
+        int row = (number - 1) / COLS; 
         // visual row 0 is top, grid row 0 is bottom (1-10)
         // Let's align:
         // Number 1 -> Row 0 (bottom), Col 0 (left)
@@ -201,28 +340,75 @@ public class Board {
             col = (COLS - 1) - col;
         }
         
-        return new Point(col * tileSize, viewRow * tileSize);
+        out.x = col * tileSize;
+        out.y = viewRow * tileSize;
     }
 
     // Calculates center of the tile for pieces/lines
     public Point getCenterMoveCoordinates(int number) {
-        Point p = getCoordinatesForNumber(number);
-        return new Point(p.x + tileSize/2, p.y + tileSize/2);
+        Point p = new Point(0, 0);
+        fillCenter(number, p);
+        return p;
+    }
+    
+    // Centres of every square from one number to another, inclusive, as x, y
+    // pairs. Follows the board's snaking rows, so a walk round the end of a
+    // row turns the corner instead of cutting across. The offset from the
+    // centre blends from the start one to the end one, for fanned-out tokens.
+    public double[] walkPath(int from, int to, Point startOffset, Point endOffset) {
+        int step = to >= from ? 1 : -1;
+        int count = Math.abs(to - from) + 1;
+        double[] path = new double[count * 2];
+        Point p = new Point(0, 0);
+        for (int i = 0; i < count; i++) {
+            double t = count == 1 ? 1 : (double) i / (count - 1);
+            fillCenter(from + i * step, p);
+            path[2 * i] = p.x + startOffset.x + (endOffset.x - startOffset.x) * t;
+            path[2 * i + 1] = p.y + startOffset.y + (endOffset.y - startOffset.y) * t;
+        }
+        return path;
+    }
+    
+    void fillCenter(int number, Point out) {
+        fillCoordinates(number, out);
+        out.x += tileSize/2;
+        out.y += tileSize/2;
     }
     
     public double getTileSize() {
         return tileSize;
     }
 
-    // Called by Controller when window resizes
-    public void resizeBoard(double width, double height) {
+    // Stops any renderer timers so a board that's been replaced or closed stops
+    // asking for pulses and can be collected
+    public void dispose() {
+        if (viewportRenderer != null) {
+            viewportRenderer.dispose();
+        } else if (canvasRenderer != null) {
+            canvasRenderer.dispose();
+        }
+    }
+
+    // Called by Controller when window resizes. Returns true if the tile size
+    // changed and everything was redrawn, false if only the centering moved.
+    public boolean resizeBoard(double width, double height) {
         this.width = width;
         this.height = height;
         
+        if (viewportRenderer != null) {
+            // The view fills the whole area and tile size never changes
+            viewportRenderer.setViewportSize(Math.max(1, width), Math.max(1, height));
+            return false;
+        }
+        
         // Keep square aspect ratio or fill? 
-        // Let's fill 80% of the smallest dimension to leave room for UI
-        double minDim = Math.min(width, height);
-        this.tileSize = (minDim * 0.9) / ROWS;
+        // Let's fill 90% of the tighter dimension to leave room for UI
+        double newTileSize = Math.min(width * 0.9 / COLS, height * 0.9 / ROWS);
+        if (canvasRenderer != null) {
+            newTileSize = Math.min(newTileSize, MAX_CANVAS_SIZE / Math.max(ROWS, COLS));
+        }
+        boolean sizeChanged = newTileSize != tileSize || needsDraw;
+        this.tileSize = newTileSize;
         
         // Center the board
         double startX = (width - (tileSize * COLS)) / 2;
@@ -231,15 +417,20 @@ public class Board {
         boardGroup.setTranslateX(startX);
         boardGroup.setTranslateY(startY);
         
-        drawBoard();
+        // Tiles and tokens are positioned relative to the group, so a pure
+        // re-center doesn't need a relayout
+        if (sizeChanged) {
+            drawBoard();
+        }
+        return sizeChanged;
     }
     
     // Methods for game logic to query board
     public int getSnakeTail(int head) {
-        return snakes.getOrDefault(head, -1);
+        return layout.getSnakeTail(head);
     }
     
     public int getLadderTop(int bottom) {
-        return ladders.getOrDefault(bottom, -1);
+        return layout.getLadderTop(bottom);
     }
 }
@@ -0,0 +1,272 @@
+package com.snakeandladder;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+
+// Pure description of a board: its size and where the snakes and ladders are.
+// No JavaFX in here so the rules engine and simulations can use it headless.
+//
+// Snakes and ladders are kept as parallel int arrays rather than maps so that
+// huge layouts loaded from files don't turn into millions of boxed objects.
+public class BoardLayout {
+
+    private final int rows;
+    private final int cols;
+    private final int[] snakeHeads;
+    private final int[] snakeTails;
+    private final int[] ladderBottoms;
+    private final int[] ladderTops;
+
+    // Compiled form of the arrays above: jumps[square] is where a player who lands
+    // on that square finally ends up (the square itself if there's nothing there).
+    // Built once here so rule lookups are a single array load with no boxing.
+    private final int[] jumps;
+
+    // Fingerprint of the size and jump table, used to check a logged or saved game matches the board
+    private final long id;
+
+    public BoardLayout(int rows, int cols, Map<Integer, Integer> snakes, Map<Integer, Integer> ladders) {
+        this(rows, cols,
+                snakes.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                snakes.values().stream().mapToInt(Integer::intValue).toArray(),
+                ladders.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                ladders.values().stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // Takes ownership of the arrays. Throws IllegalArgumentException if the layout is invalid.
+    BoardLayout(int rows, int cols, int[] snakeHeads, int[] snakeTails, int[] ladderBottoms, int[] ladderTops) {
+        if (rows < 1 || cols < 1 || (long) rows * cols < 2 || (long) rows * cols > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid board size " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.snakeHeads = snakeHeads;
+        this.snakeTails = snakeTails;
+        this.ladderBottoms = ladderBottoms;
+        this.ladderTops = ladderTops;
+        this.jumps = compileJumps();
+        checkFinishable();
+        this.id = computeId();
+    }
+
+    // 64-bit FNV-1a over the board size and the compiled jump table
+    private long computeId() {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ rows) * 0x100000001b3L;
+        hash = (hash ^ cols) * 0x100000001b3L;
+        for (int jump : jumps) {
+            hash = (hash ^ jump) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private int[] compileJumps() {
+        int finalSquare = getFinalSquare();
+        int[] direct = new int[finalSquare + 1];
+        for (int i = 0; i <= finalSquare; i++) {
+            direct[i] = i;
+        }
+        addJumps(direct, snakeHeads, snakeTails, true);
+        addJumps(direct, ladderBottoms, ladderTops, false);
+
+        // Follow chains (a ladder ending on a snake head etc.) to where they stop.
+        // table[] doubles as the visit marker: 0 = not resolved yet, -1 = on the
+        // chain currently being walked (seeing it again means a cycle).
+        int[] table = new int[finalSquare + 1];
+        for (int square = 1; square <= finalSquare; square++) {
+            if (table[square] != 0) continue;
+
+            int dest = square;
+            while (direct[dest] != dest && table[dest] == 0) {
+                table[dest] = -1;
+                dest = direct[dest];
+            }
+            if (table[dest] == -1) {
+                throw new IllegalArgumentException("Snakes and ladders form a cycle through square " + dest);
+            }
+            int end = table[dest] != 0 ? table[dest] : dest;
+
+            // Second walk writes the answer into every square on the chain
+            for (int s = square; table[s] == -1; s = direct[s]) {
+                table[s] = end;
+            }
+            table[dest] = end;
+        }
+        return table;
+    }
+
+    // Every square a player can get to from the start must still have a way to
+    // the last square, otherwise a game could go on forever
+    private void checkFinishable() {
+        int finalSquare = getFinalSquare();
+        IntBinaryOperator successor = (square, roll) -> square + roll > finalSquare ? square : jumps[square + roll];
+        boolean[] end = new boolean[finalSquare + 1];
+        end[finalSquare] = true;
+        boolean[] finishes = canReach(finalSquare, successor, end);
+
+        // Walk forward from square 1 looking for a square with no way out
+        boolean[] seen = new boolean[finalSquare + 1];
+        int[] queue = new int[finalSquare + 1];
+        int tail = 0;
+        queue[tail++] = 1;
+        seen[1] = true;
+        for (int head = 0; head < tail; head++) {
+            int square = queue[head];
+            if (!finishes[square]) {
+                throw new IllegalArgumentException("Snakes and ladders cut square " + square + " off from the final square");
+            }
+            for (int roll = 1; roll <= DiceSource.FACES; roll++) {
+                int to = successor.applyAsInt(square, roll);
+                if (!seen[to]) {
+                    seen[to] = true;
+                    queue[tail++] = to;
+                }
+            }
+        }
+    }
+
+    private void addJumps(int[] direct, int[] starts, int[] ends, boolean snake) {
+        int finalSquare = getFinalSquare();
+        String kind = snake ? "Snake" : "Ladder";
+        if (starts.length != ends.length) {
+            throw new IllegalArgumentException(kind + " start and end counts differ");
+        }
+        for (int i = 0; i < starts.length; i++) {
+            int start = starts[i];
+            int end = ends[i];
+            if (start < 1 || start > finalSquare || end < 1 || end > finalSquare) {
+                throw new IllegalArgumentException(kind + " " + start + "->" + end + " is off the board");
+            }
+            if (start == finalSquare) {
+                throw new IllegalArgumentException(kind + " can't start on the final square " + finalSquare);
+            }
+            if (snake ? end >= start : end <= start) {
+                throw new IllegalArgumentException(kind + " " + start + "->" + end + " goes the wrong way");
+            }
+            if (direct[start] != start) {
+                throw new IllegalArgumentException("Square " + start + " has more than one snake or ladder");
+            }
+            direct[start] = end;
+        }
+    }
+
+    // Marks every square from which some run of rolls gets to one of the targets.
+    // successor(square, roll) is where that roll leaves a player. The last square
+    // ends the game, so nothing moves on from it. Works backwards from the
+    // targets over a predecessor list, so it's linear in the number of moves.
+    static boolean[] canReach(int finalSquare, IntBinaryOperator successor, boolean[] targets) {
+        int faces = DiceSource.FACES;
+        // Predecessors of each square in compressed rows: first[t] .. first[t + 1]
+        int[] first = new int[finalSquare + 2];
+        for (int square = 1; square < finalSquare; square++) {
+            for (int roll = 1; roll <= faces; roll++) {
+                int to = successor.applyAsInt(square, roll);
+                if (to != square) first[to + 1]++;
+            }
+        }
+        for (int i = 1; i < first.length; i++) {
+            first[i] += first[i - 1];
+        }
+        int[] from = new int[first[finalSquare + 1]];
+        int[] fill = Arrays.copyOf(first, first.length);
+        for (int square = 1; square < finalSquare; square++) {
+            for (int roll = 1; roll <= faces; roll++) {
+                int to = successor.applyAsInt(square, roll);
+                if (to != square) from[fill[to]++] = square;
+            }
+        }
+
+        boolean[] reached = Arrays.copyOf(targets, finalSquare + 1);
+        int[] queue = new int[finalSquare + 1];
+        int tail = 0;
+        for (int square = 1; square <= finalSquare; square++) {
+            if (reached[square]) queue[tail++] = square;
+        }
+        for (int head = 0; head < tail; head++) {
+            int to = queue[head];
+            for (int i = first[to]; i < first[to + 1]; i++) {
+                int square = from[i];
+                if (!reached[square]) {
+                    reached[square] = true;
+                    queue[tail++] = square;
+                }
+            }
+        }
+        return reached;
+    }
+
+    // The classic 10x10 layout the game has always shipped with
+    public static BoardLayout classic() {
+        return new BoardLayout(10, 10,
+                // Snakes (Start -> End, where End < Start)
+                new int[] {16, 47, 49, 56, 62, 64, 87, 93, 95, 98},
+                new int[] { 6, 26, 11, 53, 19, 60, 24, 73, 75, 78},
+                // Ladders (Start -> End, where End > Start)
+                new int[] { 1,  4,  9, 21, 28, 36, 51, 71,  80},
+                new int[] {38, 14, 31, 42, 84, 44, 67, 91, 100});
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    // Last square on the board, the one you need an exact roll to reach
+    public int getFinalSquare() {
+        return rows * cols;
+    }
+
+    public int getSnakeCount() {
+        return snakeHeads.length;
+    }
+
+    public int getSnakeHead(int index) {
+        return snakeHeads[index];
+    }
+
+    public int getSnakeEnd(int index) {
+        return snakeTails[index];
+    }
+
+    public int getLadderCount() {
+        return ladderBottoms.length;
+    }
+
+    public int getLadderBottom(int index) {
+        return ladderBottoms[index];
+    }
+
+    public int getLadderEnd(int index) {
+        return ladderTops[index];
+    }
+
+    // Where a player landing on this square ends up, the square itself if nothing is there
+    public int getJump(int square) {
+        return jumps[square];
+    }
+
+    // The raw jump table for hot loops. Shared, so callers must not modify it.
+    int[] getJumpTable() {
+        return jumps;
+    }
+
+    public int getSnakeTail(int head) {
+        if (head < 0 || head >= jumps.length) return -1;
+        int dest = jumps[head];
+        return dest < head ? dest : -1;
+    }
+
+    public int getLadderTop(int bottom) {
+        if (bottom < 0 || bottom >= jumps.length) return -1;
+        int dest = jumps[bottom];
+        return dest > bottom ? dest : -1;
+    }
+}
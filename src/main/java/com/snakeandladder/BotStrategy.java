@@ -0,0 +1,73 @@
+package com.snakeandladder;
+
+// The built-in bots
+public enum BotStrategy implements PlayerStrategy {
+
+    // Always takes the first die, plays exactly like the classic rules
+    FIRST("First") {
+        @Override
+        public int choose(GameEngine engine, int rollA, int rollB, DiceSource dice) {
+            return rollA;
+        }
+    },
+
+    // Whichever roll ends furthest along after snakes and ladders
+    GREEDY("Greedy") {
+        @Override
+        public int choose(GameEngine engine, int rollA, int rollB, DiceSource dice) {
+            int from = engine.getPosition(engine.getCurrentPlayerIndex());
+            return engine.destination(from, rollB) > engine.destination(from, rollA) ? rollB : rollA;
+        }
+    },
+
+    // Greedy, but won't slide backwards on a snake or waste the turn
+    // overshooting if the other die makes some progress
+    CAUTIOUS("Cautious") {
+        @Override
+        public int choose(GameEngine engine, int rollA, int rollB, DiceSource dice) {
+            int from = engine.getPosition(engine.getCurrentPlayerIndex());
+            int destA = engine.destination(from, rollA);
+            int destB = engine.destination(from, rollB);
+            boolean safeA = destA > from;
+            boolean safeB = destB > from;
+            if (safeA != safeB) {
+                return safeA ? rollA : rollB;
+            }
+            return destB > destA ? rollB : rollA;
+        }
+    },
+
+    // Coin flip between the two dice
+    RANDOM("Random") {
+        @Override
+        public int choose(GameEngine engine, int rollA, int rollB, DiceSource dice) {
+            return dice.roll() <= DiceSource.FACES / 2 ? rollA : rollB;
+        }
+    };
+
+    private final String label;
+
+    BotStrategy(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String getName() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    // Case-insensitive lookup by name, null if there's no such bot
+    public static BotStrategy byName(String name) {
+        for (BotStrategy s : values()) {
+            if (s.name().equalsIgnoreCase(name)) {
+                return s;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,203 @@
+package com.snakeandladder;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Draws the board onto two canvases instead of building a node per tile, rung
+// and snake. The static layer (tiles, numbers, snakes, ladders) is painted once
+// per size and then left alone, JavaFX keeps it as a texture. Tokens live on a
+// second canvas that is only repainted on frames where one of them moved.
+//
+// Player tokens are still Circles so the existing transitions can animate them,
+// they just aren't in the scene graph; we read their translate values instead.
+class CanvasBoardRenderer {
+
+    private final Board board;
+    private final BoardLayout layout;
+
+    private final Canvas staticLayer = new Canvas();
+    private final Canvas tokenLayer = new Canvas();
+    private final Group root = new Group(staticLayer, tokenLayer);
+
+    private final List<Circle> tokens = new ArrayList<>();
+    private double[] drawnX = new double[0];
+    private double[] drawnY = new double[0];
+    private boolean tokensDirty = true;
+
+    private final AnimationTimer tokenTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drawTokensIfMoved();
+        }
+    };
+
+    CanvasBoardRenderer(Board board) {
+        this.board = board;
+        this.layout = board.getLayout();
+        tokenTimer.start();
+    }
+
+    Group getNode() {
+        return root;
+    }
+
+    void addToken(Circle token) {
+        tokens.add(token);
+        drawnX = Arrays.copyOf(drawnX, tokens.size());
+        drawnY = Arrays.copyOf(drawnY, tokens.size());
+        tokensDirty = true;
+    }
+
+    void removeToken(Circle token) {
+        int i = tokens.indexOf(token);
+        if (i == -1) return;
+        tokens.remove(i);
+        // Keep the drawn positions lined up with the tokens that are left
+        System.arraycopy(drawnX, i + 1, drawnX, i, tokens.size() - i);
+        System.arraycopy(drawnY, i + 1, drawnY, i, tokens.size() - i);
+        drawnX = Arrays.copyOf(drawnX, tokens.size());
+        drawnY = Arrays.copyOf(drawnY, tokens.size());
+        tokensDirty = true;
+    }
+
+    // Stops the token timer. A running AnimationTimer asks for a pulse every
+    // frame and keeps this renderer (and its board) reachable, so call this
+    // when the board goes away.
+    void dispose() {
+        tokenTimer.stop();
+    }
+
+    // Repaints the static layer, only needed when the tile size changes
+    void redrawStatic() {
+        double tileSize = board.getTileSize();
+        double w = layout.getCols() * tileSize;
+        double h = layout.getRows() * tileSize;
+        staticLayer.setWidth(w);
+        staticLayer.setHeight(h);
+        tokenLayer.setWidth(w);
+        tokenLayer.setHeight(h);
+
+        GraphicsContext g = staticLayer.getGraphicsContext2D();
+        g.clearRect(0, 0, w, h);
+
+        // Tiles and numbers in one pass, one font for the whole board
+        g.setFont(Tile.numberFont(tileSize * 0.3));
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        g.setLineWidth(1);
+        g.setStroke(Color.BLACK);
+        Board.Point p = new Board.Point(0, 0);
+        for (int number = 1; number <= layout.getFinalSquare(); number++) {
+            board.fillCoordinates(number, p);
+            g.setFill((number % 2 == 0) ? Color.LIGHTYELLOW : Color.LIGHTCYAN);
+            g.fillRect(p.x, p.y, tileSize, tileSize);
+            g.strokeRect(p.x, p.y, tileSize, tileSize);
+            g.setFill(Color.BLACK);
+            g.fillText(String.valueOf(number), p.x + tileSize / 2, p.y + tileSize / 2);
+        }
+
+        drawLadders(g);
+        drawSnakes(g);
+        tokensDirty = true;
+    }
+
+    // Same look as the node-based Board.drawSnakesAndLadders
+    private void drawLadders(GraphicsContext g) {
+        g.setStroke(Color.DARKGREEN);
+        g.setLineCap(StrokeLineCap.SQUARE);
+        double width = 10;
+        for (int l = 0; l < layout.getLadderCount(); l++) {
+            Board.Point p1 = board.getCenterMoveCoordinates(layout.getLadderBottom(l));
+            Board.Point p2 = board.getCenterMoveCoordinates(layout.getLadderEnd(l));
+
+            double dx = p2.x - p1.x;
+            double dy = p2.y - p1.y;
+            double length = Math.sqrt(dx*dx + dy*dy);
+            double nx = -dy / length;
+            double ny = dx / length;
+
+            // Side rails
+            g.setLineWidth(3);
+            g.strokeLine(p1.x - nx*width, p1.y - ny*width, p2.x - nx*width, p2.y - ny*width);
+            g.strokeLine(p1.x + nx*width, p1.y + ny*width, p2.x + nx*width, p2.y + ny*width);
+
+            // Rungs
+            g.setLineWidth(2);
+            int steps = Math.max(1, (int)(length / 20));
+            for (int i = 0; i <= steps; i++) {
+                double t = (double)i / steps;
+                double cx = p1.x + dx*t;
+                double cy = p1.y + dy*t;
+                g.strokeLine(cx - nx*width, cy - ny*width, cx + nx*width, cy + ny*width);
+            }
+        }
+    }
+
+    private void drawSnakes(GraphicsContext g) {
+        g.setLineCap(StrokeLineCap.ROUND);
+        for (int s = 0; s < layout.getSnakeCount(); s++) {
+            Board.Point p1 = board.getCenterMoveCoordinates(layout.getSnakeHead(s)); // Head
+            Board.Point p2 = board.getCenterMoveCoordinates(layout.getSnakeEnd(s));  // Tail
+
+            double midX = (p1.x + p2.x) / 2;
+            double midY = (p1.y + p2.y) / 2;
+            double dx = p2.x - p1.x;
+            double dy = p2.y - p1.y;
+
+            g.setStroke(Color.RED);
+            g.setLineWidth(4);
+            g.beginPath();
+            g.moveTo(p1.x, p1.y);
+            g.quadraticCurveTo(midX + dy * 0.3, midY - dx * 0.3, p2.x, p2.y);
+            g.stroke();
+
+            g.setFill(Color.DARKRED);
+            g.fillOval(p1.x - 6, p1.y - 6, 12, 12);
+        }
+    }
+
+    private void drawTokensIfMoved() {
+        if (!tokensDirty) {
+            for (int i = 0; i < tokens.size(); i++) {
+                Circle t = tokens.get(i);
+                if (t.getTranslateX() != drawnX[i] || t.getTranslateY() != drawnY[i]) {
+                    tokensDirty = true;
+                    break;
+                }
+            }
+            if (!tokensDirty) return;
+        }
+
+        GraphicsContext g = tokenLayer.getGraphicsContext2D();
+        g.clearRect(0, 0, tokenLayer.getWidth(), tokenLayer.getHeight());
+        for (int i = 0; i < tokens.size(); i++) {
+            Circle t = tokens.get(i);
+            double x = t.getTranslateX();
+            double y = t.getTranslateY();
+            double r = t.getRadius();
+            Paint fill = t.getFill();
+
+            g.setFill(fill);
+            g.fillOval(x - r, y - r, r * 2, r * 2);
+            g.setStroke(t.getStroke());
+            g.setLineWidth(t.getStrokeWidth());
+            g.strokeOval(x - r, y - r, r * 2, r * 2);
+
+            drawnX[i] = x;
+            drawnY[i] = y;
+        }
+        tokensDirty = false;
+    }
+}
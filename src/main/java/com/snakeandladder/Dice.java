@@ -9,7 +9,6 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
-import java.util.Random;
 import java.util.function.Consumer;
 
 public class Dice extends VBox {
@@ -18,11 +17,18 @@ public class Dice extends VBox {
     private Rectangle diceFace;
     private Text diceValueText;
     private Button rollButton;
-    private Random random;
+    private DiceSource source;
     private boolean isRolling = false;
+    private GameSpeed speed = GameSpeed.NORMAL;
+    private final Consumer<Integer> onRollCallback;
 
     public Dice(Consumer<Integer> onRollCallback) {
-        this.random = new Random();
+        this(onRollCallback, DiceSource.seeded(System.nanoTime()));
+    }
+
+    public Dice(Consumer<Integer> onRollCallback, DiceSource source) {
+        this.onRollCallback = onRollCallback;
+        this.source = source;
         this.setSpacing(10);
         this.setAlignment(javafx.geometry.Pos.CENTER);
 
@@ -42,11 +48,7 @@ public class Dice extends VBox {
         // Roll Button
         rollButton = new Button("ROLL");
         rollButton.setStyle("-fx-font-size: 16px; -fx-base: #4a90e2; -fx-text-fill: white;");
-        rollButton.setOnAction(e -> {
-            if (!isRolling) {
-                performRoll(onRollCallback);
-            }
-        });
+        rollButton.setOnAction(e -> roll());
 
         getChildren().addAll(diceGraphics, rollButton);
     }
@@ -55,23 +57,67 @@ public class Dice extends VBox {
         rollButton.setDisable(disable);
     }
 
+    public boolean isRollingDisabled() {
+        return rollButton.isDisabled();
+    }
+
+    public DiceSource getSource() {
+        return source;
+    }
+
+    public void setSource(DiceSource source) {
+        this.source = source;
+    }
+
+    public void setSpeed(GameSpeed speed) {
+        this.speed = speed;
+    }
+
+    // Same as clicking ROLL, used for auto-play
+    public void roll() {
+        if (!isRolling) {
+            performRoll(onRollCallback);
+        }
+    }
+
+    // Draws a value without any animation or callback (for batched fast play)
+    public int nextValue() {
+        return source.roll();
+    }
+
+    // Shows a value on the die face without rolling
+    public void showValue(int value) {
+        diceValueText.setText(String.valueOf(value));
+    }
+
     private void performRoll(Consumer<Integer> callback) {
         isRolling = true;
         setRollingDisable(true); // Prevent double click
 
+        if (speed.isInstant()) {
+            int rolledNumber = nextValue();
+            showValue(rolledNumber);
+            isRolling = false;
+            callback.accept(rolledNumber);
+            return;
+        }
+
         // Animation
-        RotateTransition rt = new RotateTransition(Duration.millis(500), diceGraphics);
+        RotateTransition rt = new RotateTransition(speed.scale(Duration.millis(500)), diceGraphics);
         rt.setByAngle(360);
         rt.setCycleCount(2);
         rt.setAutoReverse(true);
         
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
         rt.setOnFinished(e -> {
-            int rolledNumber = random.nextInt(6) + 1;
-            diceValueText.setText(String.valueOf(rolledNumber));
+            if (GameMetrics.ENABLED) GameMetrics.get().rollAnimationFinished(System.nanoTime() - start);
+            int rolledNumber = nextValue();
+            showValue(rolledNumber);
             isRolling = false; // Logic will determine when to re-enable
             callback.accept(rolledNumber);
         });
         
+        if (GameMetrics.ENABLED) GameMetrics.get().transitionStarted();
         rt.play();
     }
 }
@@ -0,0 +1,16 @@
+package com.snakeandladder;
+
+// Where die rolls come from. Kept apart from the Dice UI control so the same
+// game can be driven by a seeded generator, a scripted replay, or anything else.
+public interface DiceSource {
+
+    int FACES = 6;
+
+    // Next roll, 1 to FACES
+    int roll();
+
+    // Reproducible, splittable default generator
+    static SplitMixDice seeded(long seed) {
+        return new SplitMixDice(seed);
+    }
+}
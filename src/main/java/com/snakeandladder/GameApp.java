@@ -7,8 +7,10 @@ public class GameApp extends Application {
 
     @Override
     public void start(Stage primaryStage) {
+        StartupTimer.mark("fx start");
+        GameMetrics.start();
         GameController controller = new GameController();
-        controller.initialize(primaryStage);
+        controller.initialize(primaryStage, GameOptions.fromNamedParameters(getParameters().getNamed()));
     }
 
     public static void main(String[] args) {
@@ -1,23 +1,44 @@
 package com.snakeandladder;
 
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextInputDialog;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class GameController {
 
@@ -26,26 +47,111 @@ public class GameController {
     private Board gameBoard;
     private Dice dice;
     
+    // Rules and turn state live in the engine, the controller just animates them
+    private GameEngine engine;
     private List<Player> players;
-    private int currentPlayerIndex = 0;
-    private boolean gameRunning = false;
+    private TokenStacks stacks = new TokenStacks(0); // Who is on which square, for fanning out
+    // Scratch points for token placement, so a resize re-placing every token
+    // doesn't allocate. The place* pair is also used by fanOut inside claimSquare,
+    // so moves have their own.
+    private final Board.Point placeCenter = new Board.Point(0, 0);
+    private final Board.Point placeOffset = new Board.Point(0, 0);
+    private final Board.Point moveStart = new Board.Point(0, 0);
+    private final Board.Point moveEnd = new Board.Point(0, 0);
+    private GameOptions options;
+    private GameEventLog eventLog; // Only set when --event-log was given
+    
+    // Autosave: the snapshot is taken on the FX thread into a reused buffer (a few
+    // microseconds), the file write happens on a background thread
+    private static final Duration AUTOSAVE_INTERVAL = Duration.seconds(5);
+    private final ByteBuffer snapshotBuffer = ByteBuffer.allocate(GameSnapshot.size(GameEventLog.MAX_SEATS));
+    private final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "autosave");
+        t.setDaemon(true);
+        return t;
+    });
+    private Timeline autosaveTimeline;
     
     // UI Elements
     private VBox sidePanel;
     private Label statusLabel;
     private Label turnLabel;
+    
+    private ChoiceBox<GameSpeed> speedChoice;
+    private CheckBox autoPlayCheck;
+    
+    // Set by the resize listeners, cleared by the next pulse
+    private boolean relayoutPending = false;
+    
+    // Playback speed and auto-play (rolls without waiting for a click)
+    private GameSpeed speed = GameSpeed.NORMAL;
+    private boolean autoPlay = false;
+    
+    // House rules. With a choice of dice, bots pick with their strategy and
+    // humans get asked, unless auto-play is on in which case it picks for them.
+    private RuleVariant variant = RuleVariant.CLASSIC;
+    private static final PlayerStrategy AUTO_PLAY_STRATEGY = BotStrategy.GREEDY;
+    
+    // In instant auto-play we skip the roll/move callbacks altogether and play
+    // a batch of turns straight through the engine on every frame
+    private static final int TURNS_PER_FRAME = 200;
+    private boolean[] movedThisFrame = new boolean[0];
+    private final AnimationTimer fastPlayTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            playFastFrame();
+        }
+    };
+    
+    // Only started when metrics are on: times the gap between pulses. Keeping an
+    // AnimationTimer running asks for a pulse every frame, which is why it's off
+    // by default.
+    private final AnimationTimer frameTimer = new AnimationTimer() {
+        private long last;
+        
+        @Override
+        public void handle(long now) {
+            if (last != 0) GameMetrics.get().frame(now - last);
+            last = now;
+        }
+    };
 
     public void initialize(Stage stage) {
+        initialize(stage, new GameOptions());
+    }
+
+    public void initialize(Stage stage, GameOptions options) {
         this.primaryStage = stage;
+        this.options = options;
         this.rootLayout = new BorderPane();
         this.players = new ArrayList<>();
+        speed = options.getSpeed();
+        variant = options.getVariant();
+
+        // Start on the board first so it's built while the setup prompt is up
+        CompletableFuture<Board> board = buildBoard(options);
 
-        // Initialize Board
-        gameBoard = new Board();
+        // Ask the setup questions before anything else is on screen. Closing the
+        // prompt mustn't count as the last window closing.
+        boolean implicitExit = Platform.isImplicitExit();
+        Platform.setImplicitExit(false);
+        GameEventReplay.GameRolls replay = options.getReplay();
+        ByteBuffer saved = replay == null ? askResume() : null;
+        int playerCount = replay == null && saved == null ? askPlayerCount() : 0;
+
+        if (gameBoard != null) {
+            gameBoard.dispose(); // Initialized again, let the old board go
+        }
+        try {
+            gameBoard = board.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        engine = new GameEngine(gameBoard.getLayout());
         rootLayout.setCenter(gameBoard.getBoardGroup());
 
         // Initialize Side Panel
-        createSidePanel();
+        createSidePanel(options.createDice());
         rootLayout.setRight(sidePanel);
 
         Scene scene = new Scene(rootLayout, 1000, 700);
@@ -53,16 +159,78 @@ public class GameController {
         primaryStage.setTitle("Snake and Ladder - JavaFX");
         primaryStage.setScene(scene);
         primaryStage.setResizable(true);
+        primaryStage.setOnHidden(e -> {
+            closeEventLog();
+            shutdownAutosave();
+            gameBoard.dispose();
+        });
         primaryStage.show();
+        Platform.setImplicitExit(implicitExit);
+        StartupTimer.mark("shown");
+        if (GameMetrics.ENABLED) frameTimer.start();
+        if (StartupTimer.ENABLED) reportFirstFrame();
+        
+        openEventLog();
         
         // Ensure the board resizes with the window
         setupResizeListeners(scene);
         
-        // Start Game Setup
-        setupGame();
+        // Start the game that was asked for
+        if (replay != null) {
+            startReplay(replay);
+        } else if (saved == null || !resume(saved)) {
+            initializePlayers(playerCount > 0 ? playerCount : askPlayerCount());
+        }
+        startAutosave();
     }
     
-    private void createSidePanel() {
+    // Node boards (the default) are plain unattached nodes, which JavaFX lets
+    // any thread build, so they're made on a background thread while the setup
+    // prompt waits for the player. Canvas and viewport boards start animation
+    // timers, which belong on the FX thread, so those are built here.
+    private static CompletableFuture<Board> buildBoard(GameOptions options) {
+        if (options.getRenderMode() != Board.RenderMode.NODES) {
+            return CompletableFuture.completedFuture(newBoard(options));
+        }
+        CompletableFuture<Board> future = new CompletableFuture<>();
+        Thread t = new Thread(() -> {
+            try {
+                future.complete(newBoard(options));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }, "board-builder");
+        t.setDaemon(true);
+        t.start();
+        return future;
+    }
+    
+    private static Board newBoard(GameOptions options) {
+        long start = System.nanoTime();
+        Board board = new Board(options.getLayout(), options.getRenderMode());
+        StartupTimer.mark("board built (" + (System.nanoTime() - start) / 1_000_000 + " ms on "
+                + Thread.currentThread().getName() + ")");
+        return board;
+    }
+    
+    // Prints the startup timings once the first frame is on its way, and quits
+    // there for timing and class-data-sharing training runs
+    private void reportFirstFrame() {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                StartupTimer.mark("first frame");
+                StartupTimer.report();
+                if (StartupTimer.EXIT_AFTER_FIRST_FRAME) {
+                    primaryStage.hide();
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
+    
+    private void createSidePanel(DiceSource diceSource) {
         sidePanel = new VBox(20);
         sidePanel.setPrefWidth(250);
         sidePanel.setStyle("-fx-background-color: #f4f4f4; -fx-padding: 20;");
@@ -80,18 +248,36 @@ public class GameController {
         statusLabel.setFont(Font.font("Arial", 14));
         
         // Initialize Dice with callback
-        dice = new Dice(this::handleRoll);
+        dice = new Dice(this::handleRoll, diceSource);
         dice.setRollingDisable(true); // Disabled until game starts
+        dice.setSpeed(speed);
+        
+        // Speed and auto-play controls
+        speedChoice = new ChoiceBox<>(FXCollections.observableArrayList(GameSpeed.values()));
+        speedChoice.setValue(speed);
+        speedChoice.valueProperty().addListener((obs, oldVal, newVal) -> setSpeed(newVal));
+        
+        autoPlayCheck = new CheckBox("Auto-play");
+        autoPlayCheck.selectedProperty().addListener((obs, oldVal, newVal) -> setAutoPlay(newVal));
         
-        sidePanel.getChildren().addAll(title, turnLabel, dice, statusLabel);
+        HBox playControls = new HBox(10, new Label("Speed:"), speedChoice, autoPlayCheck);
+        playControls.setAlignment(Pos.CENTER);
+        
+        sidePanel.getChildren().addAll(title, turnLabel, dice, playControls, statusLabel);
     }
 
-    private void setupGame() {
-        // Simple input for now - can be expanded to a custom dialog
+    // Simple input for now - can be expanded to a custom dialog
+    private int askPlayerCount() {
         TextInputDialog dialog = new TextInputDialog("2");
         dialog.setTitle("Game Setup");
         dialog.setHeaderText("Welcome to Snake & Ladder");
         dialog.setContentText("Enter number of players (2-6):");
+        if (StartupTimer.EXIT_AFTER_FIRST_FRAME) {
+            // Nobody there to answer on a training run, but the dialog classes
+            // should still be loaded
+            dialog.setOnShown(e -> Platform.runLater(() -> dialog.setResult("2")));
+        }
+        StartupTimer.mark("prompt");
 
         Optional<String> result = dialog.showAndWait();
         if (result.isPresent()) {
@@ -99,94 +285,296 @@ public class GameController {
                 int count = Integer.parseInt(result.get());
                 if (count < 2) count = 2;
                 if (count > 6) count = 6;
-                
-                initializePlayers(count);
+                return count;
             } catch (NumberFormatException e) {
-                initializePlayers(2); // Default
+                return 2; // Default
             }
-        } else {
-             // User cancelled, maybe exit or default
-             initializePlayers(2);
         }
+        // User cancelled, maybe exit or default
+        return 2;
     }
     
     private void initializePlayers(int count) {
+        createPlayers(count);
+        engine.start(count);
+        logGameStart(count);
+        dice.setRollingDisable(false);
+        updateTurnUI();
+        continueAutoPlay();
+    }
+    
+    private void createPlayers(int count) {
         players.clear();
+        stacks = new TokenStacks(count);
         Color[] availableColors = {Color.RED, Color.BLUE, Color.GREEN, Color.ORANGE, Color.PURPLE, Color.CYAN};
         
         for (int i = 0; i < count; i++) {
-            Player p = new Player("Player " + (i + 1), i + 1, availableColors[i % availableColors.length]);
+            BotStrategy bot = options.getBot(i);
+            String name = "Player " + (i + 1) + (bot != null ? " (" + bot.getName() + ")" : "");
+            Player p = new Player(name, i + 1, availableColors[i % availableColors.length]);
+            p.setStrategy(bot);
             players.add(p);
-            gameBoard.getBoardGroup().getChildren().add(p.getToken());
+            gameBoard.addToken(p.getToken());
             // Initial position update handled by resize or first draw, but let's force place them at 1
             placePlayerAt(p, 1);
         }
+        movedThisFrame = new boolean[count];
+    }
+    
+    // If there's an autosave, asks whether to carry on with it. Returns the
+    // saved bytes if so, or null for a new game.
+    private ByteBuffer askResume() {
+        Path saveFile = options.getSaveFile();
+        if (saveFile == null || StartupTimer.EXIT_AFTER_FIRST_FRAME || !Files.exists(saveFile)) return null;
         
-        gameRunning = true;
-        currentPlayerIndex = 0;
-        dice.setRollingDisable(false);
-        updateTurnUI();
+        ByteBuffer saved;
+        int count;
+        try {
+            saved = ByteBuffer.wrap(Files.readAllBytes(saveFile));
+            count = GameSnapshot.peekPlayerCount(saved);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring unreadable save: " + e.getMessage());
+            return null;
+        }
+        
+        Alert ask = new Alert(Alert.AlertType.CONFIRMATION,
+                "A " + count + "-player game was in progress. Resume it?", ButtonType.YES, ButtonType.NO);
+        ask.setTitle("Game Setup");
+        ask.setHeaderText("Welcome back to Snake & Ladder");
+        StartupTimer.mark("prompt");
+        return ask.showAndWait().orElse(ButtonType.NO) == ButtonType.YES ? saved : null;
+    }
+    
+    // Carries on with a saved game. False if the save doesn't fit this board.
+    private boolean resume(ByteBuffer saved) {
+        try {
+            createPlayers(GameSnapshot.peekPlayerCount(saved));
+            GameSnapshot.read(saved, engine, dice.getSource());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Could not resume saved game: " + e.getMessage());
+            players.forEach(p -> gameBoard.removeToken(p.getToken()));
+            return false;
+        }
+        
+        for (Player p : players) {
+            placePlayerAt(p, engine.getPosition(p.getSeat()));
+        }
+        if (engine.isGameRunning()) {
+            statusLabel.setText("Resumed saved game");
+            dice.setRollingDisable(false);
+            updateTurnUI();
+            continueAutoPlay();
+        } else {
+            dice.setRollingDisable(true);
+        }
+        return true;
+    }
+    
+    private void startAutosave() {
+        // Replays are already on disk, no point saving them
+        if (options.getSaveFile() == null || options.getReplay() != null) return;
+        autosaveTimeline = new Timeline(new KeyFrame(AUTOSAVE_INTERVAL, e -> saveSnapshot()));
+        autosaveTimeline.setCycleCount(Animation.INDEFINITE);
+        autosaveTimeline.play();
+    }
+    
+    // Captures the game on the FX thread and hands the bytes to the save thread
+    private void saveSnapshot() {
+        Path saveFile = options.getSaveFile();
+        if (saveFile == null || players.isEmpty()) return;
+        
+        if (!engine.isGameRunning()) {
+            // Finished games aren't worth resuming
+            saveExecutor.execute(() -> deleteQuietly(saveFile));
+            return;
+        }
+        
+        snapshotBuffer.clear();
+        GameSnapshot.write(engine, dice.getSource(), snapshotBuffer);
+        byte[] bytes = Arrays.copyOf(snapshotBuffer.array(), snapshotBuffer.position());
+        saveExecutor.execute(() -> writeSnapshot(saveFile, bytes));
+    }
+    
+    private static void writeSnapshot(Path saveFile, byte[] bytes) {
+        try {
+            Path dir = saveFile.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            // Write then rename so a crash mid-write never leaves a broken save
+            Path temp = dir.resolve(saveFile.getFileName() + ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, saveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Autosave failed: " + e.getMessage());
+        }
+    }
+    
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Could not delete old save: " + e.getMessage());
+        }
+    }
+    
+    private void shutdownAutosave() {
+        if (autosaveTimeline != null) {
+            autosaveTimeline.stop();
+            saveSnapshot();
+        }
+        saveExecutor.shutdown();
+        try {
+            saveExecutor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
     
     private void placePlayerAt(Player p, int position) {
         p.setPosition(position);
-        var point = gameBoard.getCenterMoveCoordinates(position);
-        // Add small offset based on player ID to avoid total overlap
-        double offset = (p.getToken().getRadius() * 0.5) * (players.indexOf(p) % 3);
-        p.placeAt(point.x + offset, point.y + offset);
+        int left = stacks.move(p.getSeat(), position);
+        if (left != position) {
+            fanOut(left, -1);
+            fanOut(position, -1);
+        } else {
+            placeToken(p);
+        }
+    }
+    
+    // Puts a token where its slot on its square says, no animation
+    private void placeToken(Player p) {
+        int seat = p.getSeat();
+        gameBoard.fillCenter(stacks.getSquare(seat), placeCenter);
+        tokenOffset(seat, placeOffset);
+        p.placeAt(placeCenter.x + placeOffset.x, placeCenter.y + placeOffset.y);
+    }
+    
+    // Re-places every token on a square after one arrived or left, except a
+    // seat that is about to animate there itself (-1 for none)
+    private void fanOut(int square, int skipSeat) {
+        if (square == 0) return;
+        for (int slot = 0; slot < stacks.getCount(square); slot++) {
+            int seat = stacks.getSeat(square, slot);
+            if (seat != skipSeat) {
+                placeToken(players.get(seat));
+            }
+        }
+    }
+    
+    // Offset from the square centre for a token. Alone it sits in the middle;
+    // two or more share the square in a ring. Written into out.
+    private void tokenOffset(int seat, Board.Point out) {
+        int count = stacks.getCount(stacks.getSquare(seat));
+        if (count <= 1) {
+            out.x = 0;
+            out.y = 0;
+            return;
+        }
+        double ring = gameBoard.getTileSize() * 0.25;
+        double angle = 2 * Math.PI * stacks.getSlot(seat) / count;
+        out.x = ring * Math.cos(angle);
+        out.y = -ring * Math.sin(angle);
+    }
+    
+    // Moves a seat to a new square in the occupancy index and writes its offset
+    // there into out; the others on both squares shuffle round straight away
+    private void claimSquare(Player player, int square, Board.Point out) {
+        int seat = player.getSeat();
+        int left = stacks.move(seat, square);
+        if (left != square) {
+            fanOut(left, seat);
+            fanOut(square, seat);
+        }
+        tokenOffset(seat, out);
     }
 
     private void handleRoll(int rolledValue) {
-        if (!gameRunning) return;
+        if (!engine.isGameRunning()) return;
+        if (!variant.hasChoice()) {
+            playRoll(rolledValue);
+            return;
+        }
         
-        Player currentPlayer = players.get(currentPlayerIndex);
+        // Second die comes straight from the source, the first one did the animating
+        Player currentPlayer = players.get(engine.getCurrentPlayerIndex());
+        int otherValue = dice.nextValue();
+        PlayerStrategy strategy = strategyFor(currentPlayer);
+        if (strategy != null) {
+            playRoll(strategy.choose(engine, rolledValue, otherValue, dice.getSource()));
+        } else {
+            askWhichDie(currentPlayer, rolledValue, otherValue);
+        }
+    }
+    
+    // Who decides for this player, null if we have to ask
+    private PlayerStrategy strategyFor(Player player) {
+        if (player.isBot()) return player.getStrategy();
+        return autoPlay ? AUTO_PLAY_STRATEGY : null;
+    }
+    
+    // Non-blocking so it's safe to open from the dice animation's finish handler
+    private void askWhichDie(Player player, int first, int second) {
+        ButtonType useFirst = new ButtonType("Move " + first);
+        ButtonType useSecond = new ButtonType("Move " + second);
+        Alert ask = new Alert(Alert.AlertType.CONFIRMATION,
+                "You rolled a " + first + " and a " + second + ". Which one?", useFirst, useSecond);
+        ask.setTitle("Pick a die");
+        ask.setHeaderText(player.getName());
+        // Closing the dialog without picking counts as the first die
+        ask.setOnHidden(e -> playRoll(ask.getResult() == useSecond ? second : first));
+        ask.show();
+    }
+    
+    private void playRoll(int rolledValue) {
+        Player currentPlayer = players.get(engine.getCurrentPlayerIndex());
         statusLabel.setText(currentPlayer.getName() + " rolled a " + rolledValue);
         
-        movePlayer(currentPlayer, rolledValue);
+        // Engine resolves the whole turn up front, we then animate what it decided
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
+        GameEngine.TurnResult result = engine.playTurn(rolledValue);
+        if (GameMetrics.ENABLED) GameMetrics.get().turnPlayed(System.nanoTime() - start);
+        logTurn(result);
+        movePlayer(currentPlayer, result);
     }
     
-    private void movePlayer(Player player, int steps) {
-        int currentPos = player.getPosition();
-        int targetPos = currentPos + steps;
-        
-        if (targetPos > 100) {
+    private void movePlayer(Player player, GameEngine.TurnResult result) {
+        if (result == GameEngine.TurnResult.OVERSHOOT) {
             statusLabel.setText(player.getName() + " needs exact roll to win!");
             switchTurn();
             return;
         }
         
-        // Animate move (simple direct move for now, can be step-by-step later)
-        var point = gameBoard.getCenterMoveCoordinates(targetPos);
-        double offset = (player.getToken().getRadius() * 0.5) * (players.indexOf(player) % 3);
+        int targetPos = engine.getLastLanding();
+        
+        // Walk square by square; snakes and ladders then slide straight across
+        tokenOffset(player.getSeat(), moveStart);
+        claimSquare(player, targetPos, moveEnd);
+        double[] path = gameBoard.walkPath(engine.getLastStart(), targetPos, moveStart, moveEnd);
         
-        player.animateMove(point.x + offset, point.y + offset, () -> {
+        player.animateWalk(path, speed, () -> {
             player.setPosition(targetPos);
-            checkTileEvents(player);
+            checkTileEvents(player, result);
         });
     }
     
-    private void checkTileEvents(Player player) {
-        int pos = player.getPosition();
+    private void checkTileEvents(Player player, GameEngine.TurnResult result) {
+        int finalPos = engine.getPosition(player.getSeat());
         
         // Check Snake
-        int snakeTail = gameBoard.getSnakeTail(pos);
-        if (snakeTail != -1) {
+        if (result == GameEngine.TurnResult.SNAKE) {
             statusLabel.setText("Oh no! " + player.getName() + " bitten by a snake!");
-            animateSpecialMove(player, snakeTail);
+            animateSpecialMove(player, finalPos);
             return; // Turn ends after slide
         }
         
         // Check Ladder
-        int ladderTop = gameBoard.getLadderTop(pos);
-        if (ladderTop != -1) {
+        if (result == GameEngine.TurnResult.LADDER) {
             statusLabel.setText("Yay! " + player.getName() + " climbed a ladder!");
-            animateSpecialMove(player, ladderTop);
+            animateSpecialMove(player, finalPos);
             return; // Turn ends after climb
         }
         
         // Check Win
-        if (pos == 100) {
-            gameRunning = false;
+        if (engine.isGameOver()) {
             statusLabel.setText("WINNER: " + player.getName());
             showVictoryDialog(player);
             return;
@@ -196,37 +584,113 @@ public class GameController {
     }
     
     private void animateSpecialMove(Player player, int targetPos) {
-        var point = gameBoard.getCenterMoveCoordinates(targetPos);
-        double offset = (player.getToken().getRadius() * 0.5) * (players.indexOf(player) % 3);
+        gameBoard.fillCenter(targetPos, moveStart);
+        claimSquare(player, targetPos, moveEnd);
+        double x = moveStart.x + moveEnd.x;
+        double y = moveStart.y + moveEnd.y;
         
-        // Small delay before sliding/climbing
-        var pause = new javafx.animation.PauseTransition(javafx.util.Duration.millis(500));
-        pause.setOnFinished(e -> {
-             player.animateMove(point.x + offset, point.y + offset, () -> {
-                player.setPosition(targetPos);
-                
-                // Check win condition again just in case (Ladder to 100)
-                if (targetPos == 100) {
-                    gameRunning = false;
-                    statusLabel.setText("WINNER: " + player.getName());
-                    showVictoryDialog(player);
-                } else {
-                    switchTurn();
-                }
-            });
+        Runnable slide = () -> player.animateMove(x, y, speed, () -> {
+            player.setPosition(targetPos);
+            
+            // Check win condition again just in case (Ladder to 100)
+            if (engine.isGameOver()) {
+                statusLabel.setText("WINNER: " + player.getName());
+                showVictoryDialog(player);
+            } else {
+                switchTurn();
+            }
         });
+        
+        if (speed.isInstant()) {
+            slide.run();
+            return;
+        }
+        
+        // Small delay before sliding/climbing
+        var pause = new javafx.animation.PauseTransition(speed.scale(javafx.util.Duration.millis(500)));
+        pause.setOnFinished(e -> slide.run());
         pause.play();
     }
     
     private void switchTurn() {
-        if (!gameRunning) return;
-        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        if (!engine.isGameRunning()) return;
         updateTurnUI();
         dice.setRollingDisable(false); // Enable for next player
+        continueAutoPlay();
+    }
+    
+    private void setSpeed(GameSpeed newSpeed) {
+        speed = newSpeed;
+        dice.setSpeed(newSpeed);
+    }
+    
+    private void setAutoPlay(boolean enabled) {
+        autoPlay = enabled;
+        continueAutoPlay();
+    }
+    
+    // Starts the next automatic roll if auto-play is on (or it's a bot's turn)
+    // and the dice are free
+    private void continueAutoPlay() {
+        if (!engine.isGameRunning() || dice.isRollingDisabled()) return;
+        boolean botTurn = players.get(engine.getCurrentPlayerIndex()).isBot();
+        if (!autoPlay && !botTurn) return;
+        
+        if (autoPlay && speed.isInstant()) {
+            dice.setRollingDisable(true);
+            fastPlayTimer.start();
+        } else if (speed.isInstant()) {
+            // Instant rolls call straight back in here, so go through the event
+            // queue or a long run of bot turns would just keep growing the stack
+            Platform.runLater(dice::roll);
+        } else {
+            dice.roll();
+        }
+    }
+    
+    // One frame of instant auto-play: a batch of turns through the engine, then
+    // only the tokens that actually moved are touched
+    private void playFastFrame() {
+        if (!autoPlay || !speed.isInstant() || !engine.isGameRunning()) {
+            fastPlayTimer.stop();
+            if (engine.isGameRunning()) {
+                // Hand back to normal play at whatever speed was picked
+                dice.setRollingDisable(false);
+                continueAutoPlay();
+            }
+            return;
+        }
+        
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
+        int played = 0;
+        for (; played < TURNS_PER_FRAME && engine.isGameRunning(); played++) {
+            Player player = players.get(engine.getCurrentPlayerIndex());
+            logTurn(engine.playTurn(variant.nextRoll(engine, dice.getSource(), strategyFor(player))));
+            movedThisFrame[engine.getLastPlayer()] = true;
+        }
+        if (GameMetrics.ENABLED) GameMetrics.get().turnsPlayed(played, System.nanoTime() - start);
+        
+        for (int seat = 0; seat < movedThisFrame.length; seat++) {
+            if (movedThisFrame[seat]) {
+                movedThisFrame[seat] = false;
+                placePlayerAt(players.get(seat), engine.getPosition(seat));
+            }
+        }
+        dice.showValue(engine.getLastRoll());
+        
+        if (engine.isGameOver()) {
+            fastPlayTimer.stop();
+            Player winner = players.get(engine.getWinner());
+            statusLabel.setText("WINNER: " + winner.getName());
+            showVictoryDialog(winner);
+        } else {
+            statusLabel.setText("Turn " + engine.getTurnCount());
+            updateTurnUI();
+        }
     }
     
     private void updateTurnUI() {
-        Player p = players.get(currentPlayerIndex);
+        Player p = players.get(engine.getCurrentPlayerIndex());
         turnLabel.setText("Turn: " + p.getName());
         turnLabel.setTextFill(p.getColor());
     }
@@ -240,27 +704,92 @@ public class GameController {
         dice.setRollingDisable(true);
     }
 
+    // Re-drives the board from a logged game: same player count, same rolls, auto-play on
+    private void startReplay(GameEventReplay.GameRolls replay) {
+        // GameOptions only keeps replays that were logged on this layout
+        // The log holds the roll each player moved by, so replay them as classic rolls
+        variant = RuleVariant.CLASSIC;
+        dice.setSource(new ScriptedDice(replay.rolls));
+        initializePlayers(replay.playerCount);
+        statusLabel.setText("Replaying " + replay.rolls.length + " turns");
+        autoPlayCheck.setSelected(true);
+    }
+    
+    private void openEventLog() {
+        if (options.getEventLogFile() == null) return;
+        try {
+            eventLog = new GameEventLog(options.getEventLogFile());
+        } catch (IOException e) {
+            System.err.println("Could not open event log: " + e.getMessage());
+        }
+    }
+    
+    private void logGameStart(int playerCount) {
+        if (eventLog == null) return;
+        try {
+            eventLog.gameStarted(gameBoard.getLayout(), playerCount);
+        } catch (IOException e) {
+            eventLogFailed(e);
+        }
+    }
+    
+    private void logTurn(GameEngine.TurnResult result) {
+        if (eventLog == null) return;
+        try {
+            eventLog.recordTurn(engine, result);
+        } catch (IOException e) {
+            eventLogFailed(e);
+        }
+    }
+    
+    // A broken log shouldn't stop the game, just stop logging
+    private void eventLogFailed(IOException e) {
+        System.err.println("Event log write failed, logging disabled: " + e.getMessage());
+        closeEventLog();
+    }
+    
+    private void closeEventLog() {
+        if (eventLog == null) return;
+        try {
+            eventLog.close();
+        } catch (IOException e) {
+            System.err.println("Could not close event log: " + e.getMessage());
+        }
+        eventLog = null;
+    }
+
     private void setupResizeListeners(Scene scene) {
-        scene.widthProperty().addListener((obs, oldVal, newVal) -> {
-            if (gameBoard != null) {
-                // Adjust board size (keeping 250px for side panel)
-                gameBoard.resizeBoard(newVal.doubleValue() - 250, scene.getHeight());
+        // Width and height changes only mark the board dirty. The actual relayout
+        // happens once per pulse, so a diagonal drag costs one relayout, not two.
+        scene.widthProperty().addListener((obs, oldVal, newVal) -> requestRelayout());
+        scene.heightProperty().addListener((obs, oldVal, newVal) -> requestRelayout());
+
+        scene.addPreLayoutPulseListener(() -> {
+            if (!relayoutPending || gameBoard == null) return;
+            relayoutPending = false;
+            
+            // Adjust board size (keeping 250px for side panel)
+            boolean tileSizeChanged = gameBoard.resizeBoard(scene.getWidth() - 250, scene.getHeight());
+            if (tileSizeChanged) {
                 // Re-position players
                 refreshPlayerPositions();
             }
         });
+        // The scene starts at its final size, so no change fires for it. Size
+        // the board for it once here.
+        requestRelayout();
+    }
 
-        scene.heightProperty().addListener((obs, oldVal, newVal) -> {
-            if (gameBoard != null) {
-                gameBoard.resizeBoard(scene.getWidth() - 250, newVal.doubleValue());
-                refreshPlayerPositions();
-            }
-        });
+    private void requestRelayout() {
+        if (!relayoutPending) {
+            relayoutPending = true;
+            Platform.requestNextPulse();
+        }
     }
     
     private void refreshPlayerPositions() {
         for (Player p : players) {
-            placePlayerAt(p, p.getPosition());
+            placeToken(p);
         }
     }
 }
@@ -0,0 +1,199 @@
+package com.snakeandladder;
+
+import java.util.Arrays;
+
+// Headless rules engine. Holds the whole game state as plain ints so it can be
+// driven by the JavaFX controller one roll at a time, or run in a tight loop
+// for simulations without a Stage or any animation.
+public class GameEngine {
+
+    // What happened on a single turn
+    public enum TurnResult {
+        MOVED,      // Plain move, nothing on the landing square
+        OVERSHOOT,  // Roll would go past the last square, player stays put
+        SNAKE,      // Landed on a snake head and slid down
+        LADDER      // Landed on a ladder bottom and climbed up
+    }
+
+    private final BoardLayout layout;
+    private final int finalSquare;
+    private final int[] jumps; // Layout's compiled jump table
+
+    private int[] positions = new int[0];
+    private int playerCount;
+    private int currentPlayerIndex = 0;
+    private boolean gameRunning = false;
+    private int winner = -1;
+    private long turnCount;
+
+    // Details of the most recent turn, kept in fields so playTurn never allocates
+    private int lastPlayer = -1;
+    private int lastRoll;
+    private int lastStart;
+    private int lastLanding;
+
+    public GameEngine(BoardLayout layout) {
+        this.layout = layout;
+        this.finalSquare = layout.getFinalSquare();
+        this.jumps = layout.getJumpTable();
+    }
+
+    // Resets the engine for a fresh game. Everyone starts on square 1.
+    public void start(int playerCount) {
+        if (playerCount < 1) {
+            throw new IllegalArgumentException("Need at least one player, got " + playerCount);
+        }
+        if (positions.length != playerCount) {
+            positions = new int[playerCount];
+        }
+        Arrays.fill(positions, 1);
+        this.playerCount = playerCount;
+        currentPlayerIndex = 0;
+        gameRunning = true;
+        winner = -1;
+        turnCount = 0;
+        lastPlayer = -1;
+    }
+
+    // Puts the engine into a saved state. Positions are set separately with
+    // setPosition so restoring doesn't need a temporary array.
+    public void restore(int playerCount, int currentPlayerIndex, int winner, long turnCount) {
+        if (playerCount < 1 || currentPlayerIndex < 0 || currentPlayerIndex >= playerCount
+                || winner < -1 || winner >= playerCount) {
+            throw new IllegalArgumentException("Invalid saved game state");
+        }
+        if (positions.length != playerCount) {
+            positions = new int[playerCount];
+        }
+        Arrays.fill(positions, 1);
+        this.playerCount = playerCount;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.winner = winner;
+        this.gameRunning = winner == -1;
+        this.turnCount = turnCount;
+        lastPlayer = -1;
+    }
+
+    public void setPosition(int player, int square) {
+        if (square < 1 || square > finalSquare) {
+            throw new IllegalArgumentException("Square " + square + " is off the board");
+        }
+        positions[player] = square;
+    }
+
+    // Plays one roll for the current player and hands the turn on (unless they won)
+    public TurnResult playTurn(int roll) {
+        if (!gameRunning) {
+            throw new IllegalStateException("Game is not running");
+        }
+
+        int player = currentPlayerIndex;
+        int pos = positions[player];
+        int target = pos + roll;
+
+        lastPlayer = player;
+        lastRoll = roll;
+        lastStart = pos;
+
+        TurnResult result;
+        if (target > finalSquare) {
+            // Need exact roll to win
+            lastLanding = pos;
+            result = TurnResult.OVERSHOOT;
+        } else {
+            lastLanding = target;
+
+            int dest = jumps[target];
+            if (dest < target) {
+                result = TurnResult.SNAKE;
+            } else if (dest > target) {
+                result = TurnResult.LADDER;
+            } else {
+                result = TurnResult.MOVED;
+            }
+            target = dest;
+
+            positions[player] = target;
+            if (target == finalSquare) {
+                gameRunning = false;
+                winner = player;
+            }
+        }
+
+        turnCount++;
+        if (gameRunning) {
+            currentPlayerIndex = (player + 1) % playerCount;
+        }
+        return result;
+    }
+
+    // Where a roll from this square would leave a player, after any snake or
+    // ladder. Overshooting the last square leaves them where they are.
+    public int destination(int square, int roll) {
+        int target = square + roll;
+        return target > finalSquare ? square : jumps[target];
+    }
+
+    // Plays a whole game from the current state, pulling rolls from the dice.
+    // Returns the index of the winning player.
+    public int playToEnd(DiceSource dice) {
+        while (gameRunning) {
+            playTurn(dice.roll());
+        }
+        return winner;
+    }
+
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    public int getFinalSquare() {
+        return finalSquare;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getPosition(int player) {
+        return positions[player];
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public boolean isGameRunning() {
+        return gameRunning;
+    }
+
+    public boolean isGameOver() {
+        return winner != -1;
+    }
+
+    // Index of the winning player, or -1 while nobody has won
+    public int getWinner() {
+        return winner;
+    }
+
+    public long getTurnCount() {
+        return turnCount;
+    }
+
+    public int getLastPlayer() {
+        return lastPlayer;
+    }
+
+    public int getLastRoll() {
+        return lastRoll;
+    }
+
+    public int getLastStart() {
+        return lastStart;
+    }
+
+    // Square the last roll landed on, before any snake or ladder
+    public int getLastLanding() {
+        return lastLanding;
+    }
+}
@@ -0,0 +1,178 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Append-only binary log of everything that happens in a game: rolls, moves,
+// snake bites, ladder climbs and wins. Events are packed into a few bytes each
+// and collected in a direct buffer that is written out in large batches.
+//
+// File layout: "SLEV" magic and a version byte, then records. Every record
+// starts with a header byte, kind in the top 3 bits and seat in the low 5.
+//
+//   START    header(seat = players - 1), varint rows, varint cols, long layout id
+//   MOVED    header, roll byte                      (landing = old position + roll)
+//   OVERSHOOT header, roll byte
+//   SNAKE    header, roll byte, varint final square
+//   LADDER   header, roll byte, varint final square
+//
+// Bit 3 of the roll byte marks the winning turn. Reading back is done by
+// GameEventReplay. Version 1 logs have no layout id in START.
+public class GameEventLog implements AutoCloseable {
+
+    static final byte[] MAGIC = {'S', 'L', 'E', 'V'};
+    static final int VERSION = 2;
+
+    static final int KIND_START = 0;
+    static final int KIND_MOVED = 1;
+    static final int KIND_OVERSHOOT = 2;
+    static final int KIND_SNAKE = 3;
+    static final int KIND_LADDER = 4;
+
+    static final int MAX_SEATS = 32;
+    static final int WIN_FLAG = 0x08;
+    static final int ROLL_MASK = 0x07;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    static final int MAX_RECORD = 32;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long eventsWritten;
+
+    public GameEventLog(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            buffer.put(MAGIC).put((byte) VERSION);
+        } else {
+            checkExisting(file);
+        }
+    }
+
+    // Appending to a log from another version would leave records it can't read
+    private void checkExisting(Path file) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(MAGIC.length + 1);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (head.hasRemaining() && in.read(head) >= 0) {
+                // Keep reading until the header is in
+            }
+        }
+        byte[] magic = Arrays.copyOf(head.array(), MAGIC.length);
+        if (head.hasRemaining() || !Arrays.equals(magic, MAGIC) || head.get(MAGIC.length) != VERSION) {
+            channel.close();
+            throw new IOException(file + " is not a version " + VERSION + " game event log, can't append to it");
+        }
+    }
+
+    // Marks the start of a new game on the given board
+    public void gameStarted(BoardLayout layout, int playerCount) throws IOException {
+        if (playerCount < 1 || playerCount > MAX_SEATS) {
+            throw new IllegalArgumentException("Log supports 1-" + MAX_SEATS + " players, got " + playerCount);
+        }
+        ensureRoom();
+        buffer.put(header(KIND_START, playerCount - 1));
+        putVarint(layout.getRows());
+        putVarint(layout.getCols());
+        buffer.putLong(layout.getId());
+        eventsWritten++;
+    }
+
+    // Records the turn the engine has just played
+    public void recordTurn(GameEngine engine, GameEngine.TurnResult result) throws IOException {
+        int seat = engine.getLastPlayer();
+        boolean won = engine.isGameOver() && engine.getWinner() == seat;
+        turn(seat, engine.getLastRoll(), result, engine.getPosition(seat), won);
+    }
+
+    public void turn(int seat, int roll, GameEngine.TurnResult result, int finalSquare, boolean won) throws IOException {
+        ensureRoom();
+        int kind = kindOf(result);
+        buffer.put(header(kind, seat));
+        buffer.put((byte) ((roll & ROLL_MASK) | (won ? WIN_FLAG : 0)));
+        if (kind == KIND_SNAKE || kind == KIND_LADDER) {
+            putVarint(finalSquare);
+        }
+        eventsWritten++;
+    }
+
+    public long getEventsWritten() {
+        return eventsWritten;
+    }
+
+    // Pushes whatever is buffered out to the file
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensureRoom() throws IOException {
+        if (buffer.remaining() < MAX_RECORD) {
+            flush();
+        }
+    }
+
+    private static byte header(int kind, int seat) {
+        return (byte) ((kind << 5) | seat);
+    }
+
+    private static int kindOf(GameEngine.TurnResult result) {
+        switch (result) {
+            case MOVED: return KIND_MOVED;
+            case OVERSHOOT: return KIND_OVERSHOOT;
+            case SNAKE: return KIND_SNAKE;
+            default: return KIND_LADDER;
+        }
+    }
+
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    // Usage: GameEventLog <file> <games> [players] [seed]
+    // Plays seeded headless games and logs every turn, mainly for load testing the format
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args[0]);
+        long games = Long.parseLong(args[1]);
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        BoardLayout layout = BoardLayout.classic();
+        GameEngine engine = new GameEngine(layout);
+        DiceSource dice = DiceSource.seeded(seed);
+
+        long start = System.nanoTime();
+        try (GameEventLog log = new GameEventLog(file)) {
+            for (long g = 0; g < games; g++) {
+                engine.start(players);
+                log.gameStarted(layout, players);
+                while (engine.isGameRunning()) {
+                    GameEngine.TurnResult result = engine.playTurn(dice.roll());
+                    log.recordTurn(engine, result);
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Logged %d events in %.2f s (%.1f M events/s)%n",
+                    log.getEventsWritten(), seconds, log.getEventsWritten() / seconds / 1e6);
+        }
+    }
+}
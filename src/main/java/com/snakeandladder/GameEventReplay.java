@@ -0,0 +1,291 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Reads a GameEventLog back through a memory-mapped file. Works like a cursor:
+// next() moves to the following event and the getters describe it, so walking
+// billions of events allocates nothing. Large files are mapped a window at a
+// time since a single mapping is limited to 2 GB.
+public class GameEventReplay implements AutoCloseable {
+
+    private static final long WINDOW_SIZE = 1L << 30;
+    private static final int MAX_RECORD = GameEventLog.MAX_RECORD;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int version;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean truncated;
+
+    // Current event
+    private int kind = -1;
+    private int seat;
+    private int roll;
+    private boolean win;
+    private int landing;
+    private int position;
+    private GameEngine.TurnResult result;
+
+    // Game state rebuilt from the events, needed to work out plain moves
+    private int rows;
+    private int cols;
+    private long layoutId;
+    private int playerCount;
+    private int[] positions = new int[0];
+
+    public GameEventReplay(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        fileSize = channel.size();
+        map(0);
+
+        byte[] magic = new byte[GameEventLog.MAGIC.length];
+        if (window.remaining() < magic.length + 1) {
+            throw new IOException(file + " is not a game event log");
+        }
+        window.get(magic);
+        version = window.get();
+        if (!Arrays.equals(magic, GameEventLog.MAGIC) || version < 1 || version > GameEventLog.VERSION) {
+            throw new IOException(file + " is not a game event log (or an unsupported version)");
+        }
+    }
+
+    // Moves to the next event. Returns false at the end of the log, including
+    // when the last record was cut short (say the game crashed mid-write),
+    // which isTruncated() then reports.
+    public boolean next() throws IOException {
+        // Slide the window on before a record could straddle its end
+        if (window.remaining() < MAX_RECORD && windowStart + window.limit() < fileSize) {
+            map(windowStart + window.position());
+        }
+        if (truncated || !window.hasRemaining()) {
+            return false;
+        }
+        try {
+            return readRecord();
+        } catch (BufferUnderflowException e) {
+            // Only possible at the very end, the window always holds a whole record otherwise
+            truncated = true;
+            kind = -1;
+            return false;
+        }
+    }
+
+    private boolean readRecord() throws IOException {
+        int header = window.get() & 0xFF;
+        kind = header >>> 5;
+        seat = header & 0x1F;
+
+        if (kind == GameEventLog.KIND_START) {
+            playerCount = seat + 1;
+            rows = getVarint();
+            cols = getVarint();
+            layoutId = version >= 2 ? window.getLong() : 0;
+            if (positions.length != playerCount) {
+                positions = new int[playerCount];
+            }
+            Arrays.fill(positions, 1);
+            result = null;
+            win = false;
+            return true;
+        }
+
+        int rollByte = window.get();
+        roll = rollByte & GameEventLog.ROLL_MASK;
+        win = (rollByte & GameEventLog.WIN_FLAG) != 0;
+
+        int start = positions[seat];
+        switch (kind) {
+            case GameEventLog.KIND_MOVED:
+                result = GameEngine.TurnResult.MOVED;
+                landing = start + roll;
+                position = landing;
+                break;
+            case GameEventLog.KIND_OVERSHOOT:
+                result = GameEngine.TurnResult.OVERSHOOT;
+                landing = start;
+                position = start;
+                break;
+            case GameEventLog.KIND_SNAKE:
+                result = GameEngine.TurnResult.SNAKE;
+                landing = start + roll;
+                position = getVarint();
+                break;
+            case GameEventLog.KIND_LADDER:
+                result = GameEngine.TurnResult.LADDER;
+                landing = start + roll;
+                position = getVarint();
+                break;
+            default:
+                throw new IOException("Corrupt event log: unknown event kind " + kind);
+        }
+        positions[seat] = position;
+        return true;
+    }
+
+    public boolean isGameStart() {
+        return kind == GameEventLog.KIND_START;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    // BoardLayout.getId() of the board the current game was played on, 0 for
+    // logs written before the id was recorded
+    public long getLayoutId() {
+        return layoutId;
+    }
+
+    // True if the log ended part way through a record
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public int getRoll() {
+        return roll;
+    }
+
+    // Turn outcome, null for a game start event
+    public GameEngine.TurnResult getResult() {
+        return result;
+    }
+
+    // Square the roll landed on, before any snake or ladder
+    public int getLanding() {
+        return landing;
+    }
+
+    // Where the player ended the turn
+    public int getPosition() {
+        return position;
+    }
+
+    public boolean isWin() {
+        return win;
+    }
+
+    // Rolls of one complete game from a log, for re-driving the board with ScriptedDice.
+    // Game index counts from 0.
+    public static GameRolls readGame(Path file, int gameIndex) throws IOException {
+        try (GameEventReplay replay = new GameEventReplay(file)) {
+            int game = -1;
+            int[] rolls = new int[64];
+            int count = 0;
+            int players = 0;
+            while (replay.next()) {
+                if (replay.isGameStart()) {
+                    if (game == gameIndex) break;
+                    game++;
+                    players = replay.getPlayerCount();
+                    continue;
+                }
+                if (game != gameIndex) continue;
+
+                if (count == rolls.length) {
+                    rolls = Arrays.copyOf(rolls, count * 2);
+                }
+                rolls[count++] = replay.getRoll();
+                if (replay.isWin()) {
+                    return new GameRolls(players, replay.getRows(), replay.getCols(), replay.getLayoutId(),
+                            Arrays.copyOf(rolls, count));
+                }
+            }
+            if (replay.isTruncated()) {
+                throw new IOException(file + " is truncated before the end of game number " + gameIndex);
+            }
+            throw new IOException(file + " has no complete game number " + gameIndex);
+        }
+    }
+
+    // Player count, board and rolls of one logged game
+    public static class GameRolls {
+        public final int playerCount;
+        public final int rows;
+        public final int cols;
+        public final long layoutId; // 0 if the log predates layout ids
+        public final int[] rolls;
+
+        GameRolls(int playerCount, int rows, int cols, long layoutId, int[] rolls) {
+            this.playerCount = playerCount;
+            this.rows = rows;
+            this.cols = cols;
+            this.layoutId = layoutId;
+            this.rolls = rolls;
+        }
+
+        // Rolls only re-create the game on the board they were logged on
+        public boolean matches(BoardLayout layout) {
+            return layoutId == layout.getId();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void map(long absolute) throws IOException {
+        long size = Math.min(WINDOW_SIZE, fileSize - absolute);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, absolute, size);
+        windowStart = absolute;
+    }
+
+    private int getVarint() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = window.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    // Usage: GameEventReplay <file>
+    // Walks a whole log and prints totals, e.g. for audits
+    public static void main(String[] args) throws IOException {
+        long start = System.nanoTime();
+        long games = 0, turns = 0, snakes = 0, ladders = 0, wins = 0;
+        boolean truncatedLog;
+        try (GameEventReplay replay = new GameEventReplay(Path.of(args[0]))) {
+            while (replay.next()) {
+                if (replay.isGameStart()) {
+                    games++;
+                    continue;
+                }
+                turns++;
+                if (replay.getResult() == GameEngine.TurnResult.SNAKE) snakes++;
+                if (replay.getResult() == GameEngine.TurnResult.LADDER) ladders++;
+                if (replay.isWin()) wins++;
+            }
+            truncatedLog = replay.isTruncated();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (truncatedLog) {
+            System.out.println("Log truncated, the last record was incomplete");
+        }
+        System.out.printf("%d games, %d turns, %d snakes, %d ladders, %d wins in %.2f s (%.1f M turns/s)%n",
+                games, turns, snakes, ladders, wins, seconds, turns / seconds / 1e6);
+    }
+}
@@ -0,0 +1,218 @@
+package com.snakeandladder;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Built-in counters and latency histograms for the game and the match server:
+// turns and turns/s, how long rule resolution takes, frame times, roll and
+// move animation times, board redraws, scene node count and transitions in
+// flight. No JavaFX in here so the headless server can use it too. Shown over
+// JMX (see GameMetricsMXBean) and optionally dumped as text.
+//
+// Off unless started with -Dsnakeandladder.metrics=true. Every call site is
+// guarded by the ENABLED constant, so when it's off the JIT drops the calls
+// and the nanoTime reads around them completely. When on, counters are
+// LongAdders and latencies go in LatencyHistograms, so recording never locks.
+//
+//   -Dsnakeandladder.metrics.dump=<seconds>  text dump interval, 0 = none (default 10)
+public final class GameMetrics implements GameMetricsMXBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("snakeandladder.metrics");
+
+    private static final GameMetrics INSTANCE = new GameMetrics();
+
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder redraws = new LongAdder();
+    private final LongAdder transitionsInFlight = new LongAdder();
+    private final LatencyHistogram turnNanos = new LatencyHistogram();
+    private final LatencyHistogram frameNanos = new LatencyHistogram();
+    private final LatencyHistogram rollAnimationNanos = new LatencyHistogram();
+    private final LatencyHistogram moveAnimationNanos = new LatencyHistogram();
+    private final LatencyHistogram redrawNanos = new LatencyHistogram();
+    private volatile int boardNodes;
+
+    // Worked out once a second by the sampler thread
+    private volatile double turnsPerSecond;
+    private long lastTurns;
+
+    private ScheduledExecutorService sampler;
+
+    private GameMetrics() {
+    }
+
+    public static GameMetrics get() {
+        return INSTANCE;
+    }
+
+    // Registers the MXBean and starts the sampler. Does nothing when metrics
+    // are off, and only the first call does anything when they're on.
+    public static synchronized void start() {
+        if (!ENABLED || INSTANCE.sampler != null) return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE,
+                    new javax.management.ObjectName("com.snakeandladder:type=GameMetrics"));
+        } catch (Exception e) {
+            System.err.println("Could not register metrics MXBean: " + e.getMessage());
+        }
+
+        INSTANCE.sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics");
+            t.setDaemon(true);
+            return t;
+        });
+        INSTANCE.sampler.scheduleAtFixedRate(INSTANCE::sampleRates, 1, 1, TimeUnit.SECONDS);
+        long dumpSeconds = Long.getLong("snakeandladder.metrics.dump", 10);
+        if (dumpSeconds > 0) {
+            INSTANCE.sampler.scheduleAtFixedRate(() -> System.out.print(INSTANCE.getReport()),
+                    dumpSeconds, dumpSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    private void sampleRates() {
+        long now = turns.sum();
+        turnsPerSecond = now - lastTurns;
+        lastTurns = now;
+    }
+
+    // One turn through the rules engine
+    public void turnPlayed(long nanos) {
+        turns.increment();
+        turnNanos.record(nanos);
+    }
+
+    // A batch of turns played in one go, recorded as that many average turns
+    public void turnsPlayed(int count, long nanos) {
+        if (count == 0) return;
+        turns.add(count);
+        turnNanos.record(nanos / count);
+    }
+
+    public void frame(long nanos) {
+        frames.increment();
+        frameNanos.record(nanos);
+    }
+
+    public void boardRedrawn(long nanos, int nodeCount) {
+        redraws.increment();
+        redrawNanos.record(nanos);
+        boardNodes = nodeCount;
+    }
+
+    public void transitionStarted() {
+        transitionsInFlight.increment();
+    }
+
+    // For a transition stopped before it finished, which never reaches its
+    // onFinished and so never calls the *AnimationFinished methods
+    public void transitionStopped() {
+        transitionsInFlight.decrement();
+    }
+
+    public void rollAnimationFinished(long nanos) {
+        transitionsInFlight.decrement();
+        rollAnimationNanos.record(nanos);
+    }
+
+    public void moveAnimationFinished(long nanos) {
+        transitionsInFlight.decrement();
+        moveAnimationNanos.record(nanos);
+    }
+
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    @Override
+    public double getTurnsPerSecond() {
+        return turnsPerSecond;
+    }
+
+    @Override
+    public double getTurnResolutionMeanMicros() {
+        return turnNanos.getMean() / 1e3;
+    }
+
+    @Override
+    public long getTurnResolutionP99Micros() {
+        return turnNanos.getPercentile(0.99) / 1000;
+    }
+
+    @Override
+    public long getFrames() {
+        return frames.sum();
+    }
+
+    @Override
+    public double getFrameTimeMeanMicros() {
+        return frameNanos.getMean() / 1e3;
+    }
+
+    @Override
+    public long getFrameTimeP99Micros() {
+        return frameNanos.getPercentile(0.99) / 1000;
+    }
+
+    @Override
+    public long getRollAnimationP99Micros() {
+        return rollAnimationNanos.getPercentile(0.99) / 1000;
+    }
+
+    @Override
+    public long getMoveAnimationP99Micros() {
+        return moveAnimationNanos.getPercentile(0.99) / 1000;
+    }
+
+    @Override
+    public long getBoardRedraws() {
+        return redraws.sum();
+    }
+
+    @Override
+    public long getBoardRedrawP99Micros() {
+        return redrawNanos.getPercentile(0.99) / 1000;
+    }
+
+    @Override
+    public int getBoardNodeCount() {
+        return boardNodes;
+    }
+
+    @Override
+    public long getTransitionsInFlight() {
+        return transitionsInFlight.sum();
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("turns %d (%.0f/s), resolve mean %.2f us p99 %d us%n",
+                getTurns(), getTurnsPerSecond(), getTurnResolutionMeanMicros(), getTurnResolutionP99Micros()));
+        sb.append(String.format("frames %d, mean %.0f us p99 %d us%n",
+                getFrames(), getFrameTimeMeanMicros(), getFrameTimeP99Micros()));
+        sb.append(String.format("animations in flight %d, roll p99 %d us, move p99 %d us%n",
+                getTransitionsInFlight(), getRollAnimationP99Micros(), getMoveAnimationP99Micros()));
+        sb.append(String.format("board redraws %d, p99 %d us, %d nodes%n",
+                getBoardRedraws(), getBoardRedrawP99Micros(), getBoardNodeCount()));
+        return sb.toString();
+    }
+
+    // Clears counters and histograms (not the in-flight count or node count)
+    @Override
+    public void reset() {
+        turns.reset();
+        frames.reset();
+        redraws.reset();
+        turnNanos.reset();
+        frameNanos.reset();
+        rollAnimationNanos.reset();
+        moveAnimationNanos.reset();
+        redrawNanos.reset();
+        lastTurns = 0;
+    }
+}
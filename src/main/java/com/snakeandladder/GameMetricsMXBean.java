@@ -0,0 +1,36 @@
+package com.snakeandladder;
+
+// What GameMetrics shows over JMX, under com.snakeandladder:type=GameMetrics.
+// Latencies are in microseconds.
+public interface GameMetricsMXBean {
+
+    long getTurns();
+
+    double getTurnsPerSecond();
+
+    double getTurnResolutionMeanMicros();
+
+    long getTurnResolutionP99Micros();
+
+    long getFrames();
+
+    double getFrameTimeMeanMicros();
+
+    long getFrameTimeP99Micros();
+
+    long getRollAnimationP99Micros();
+
+    long getMoveAnimationP99Micros();
+
+    long getBoardRedraws();
+
+    long getBoardRedrawP99Micros();
+
+    int getBoardNodeCount();
+
+    long getTransitionsInFlight();
+
+    String getReport();
+
+    void reset();
+}
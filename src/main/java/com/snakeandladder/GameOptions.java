@@ -0,0 +1,214 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+// Start-up options for the JavaFX game, read from --name=value command line parameters
+public class GameOptions {
+
+    // Boards bigger than these default to canvas, then viewport rendering
+    private static final int CANVAS_TILE_THRESHOLD = 400;
+    private static final int VIEWPORT_TILE_THRESHOLD = 40_000;
+
+    private BoardLayout layout = BoardLayout.classic();
+    private Board.RenderMode renderMode;
+    private GameSpeed speed = GameSpeed.NORMAL;
+    private Long seed; // null = different every run
+    private Path eventLogFile;
+    private GameEventReplay.GameRolls replay;
+    private RuleVariant variant = RuleVariant.CLASSIC;
+    private BotStrategy[] bots = new BotStrategy[0]; // Per seat, null = human
+    private Path saveFile = Path.of(System.getProperty("user.home"), ".snakeandladder", "autosave.snap");
+
+    // Recognised parameters:
+    //   --layout=<file>          custom board layout (see LayoutLoader)
+    //   --render=nodes|canvas|viewport  how to draw the board
+    //   --speed=1x|4x|instant    starting playback speed
+    //   --seed=<n>               fixed dice seed so a game can be reproduced
+    //   --event-log=<file>       append every turn to a binary event log
+    //   --replay=<file>          re-drive the board from a logged game
+    //   --replay-game=<n>        which game in the log to replay (default 0)
+    //   --save=<file>|none       where in-progress games are autosaved
+    //   --variant=classic|two-dice  house rules, two-dice lets players pick a die
+    //   --bots=<s1>,<s2>,...     per seat: human, first, greedy, cautious or random
+    public static GameOptions fromNamedParameters(Map<String, String> named) {
+        GameOptions options = new GameOptions();
+
+        String file = named.get("layout");
+        if (file != null) {
+            try {
+                options.layout = LayoutLoader.load(Path.of(file));
+            } catch (IOException e) {
+                System.err.println("Could not load layout, using classic board: " + e.getMessage());
+            }
+        }
+
+        String render = named.get("render");
+        if (render != null) {
+            try {
+                options.renderMode = Board.RenderMode.valueOf(render.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown render mode '" + render + "', expected nodes, canvas or viewport");
+            }
+        }
+        String seed = named.get("seed");
+        if (seed != null) {
+            try {
+                options.seed = Long.parseLong(seed);
+            } catch (NumberFormatException e) {
+                System.err.println("Seed must be a number, got '" + seed + "'");
+            }
+        }
+
+        String log = named.get("event-log");
+        if (log != null) {
+            options.eventLogFile = Path.of(log);
+        }
+
+        String replay = named.get("replay");
+        if (replay != null) {
+            try {
+                int game = Integer.parseInt(named.getOrDefault("replay-game", "0"));
+                GameEventReplay.GameRolls rolls = GameEventReplay.readGame(Path.of(replay), game);
+                if (rolls.matches(options.layout)) {
+                    options.replay = rolls;
+                } else {
+                    // The same rolls on another board would go somewhere else entirely
+                    System.err.println("Replay was recorded on a different board layout"
+                            + (rolls.layoutId == 0 ? " (or an old log without one)" : "") + ", not replaying");
+                }
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Could not load replay: " + e.getMessage());
+            }
+        }
+
+        String save = named.get("save");
+        if (save != null) {
+            options.saveFile = save.equalsIgnoreCase("none") ? null : Path.of(save);
+        }
+
+        String speed = named.get("speed");
+        if (speed != null) {
+            options.speed = parseSpeed(speed);
+        }
+
+        String variant = named.get("variant");
+        if (variant != null) {
+            try {
+                options.variant = RuleVariant.byName(variant);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+
+        String bots = named.get("bots");
+        if (bots != null) {
+            options.bots = parseBots(bots);
+        }
+        return options;
+    }
+
+    private static GameSpeed parseSpeed(String value) {
+        for (GameSpeed s : GameSpeed.values()) {
+            if (s.toString().equalsIgnoreCase(value) || s.name().equalsIgnoreCase(value)) {
+                return s;
+            }
+        }
+        System.err.println("Unknown speed '" + value + "', expected 1x, 4x or instant");
+        return GameSpeed.NORMAL;
+    }
+
+    private static BotStrategy[] parseBots(String value) {
+        String[] names = value.split(",");
+        BotStrategy[] bots = new BotStrategy[names.length];
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].strip();
+            if (name.isEmpty() || name.equalsIgnoreCase("human")) continue;
+            bots[i] = BotStrategy.byName(name);
+            if (bots[i] == null) {
+                System.err.println("Unknown bot '" + name + "', seat " + (i + 1) + " will be human");
+            }
+        }
+        return bots;
+    }
+
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    public void setLayout(BoardLayout layout) {
+        this.layout = layout;
+        if (replay != null && !replay.matches(layout)) {
+            replay = null;
+        }
+    }
+
+    // Explicit choice if one was made, otherwise canvas for big boards and a
+    // zoomable viewport for huge ones
+    public Board.RenderMode getRenderMode() {
+        if (renderMode != null) {
+            return renderMode;
+        }
+        if (layout.getFinalSquare() > VIEWPORT_TILE_THRESHOLD) {
+            return Board.RenderMode.VIEWPORT;
+        }
+        return layout.getFinalSquare() > CANVAS_TILE_THRESHOLD ? Board.RenderMode.CANVAS : Board.RenderMode.NODES;
+    }
+
+    public void setRenderMode(Board.RenderMode renderMode) {
+        this.renderMode = renderMode;
+    }
+
+    // Dice for the game, seeded from --seed if one was given
+    public DiceSource createDice() {
+        return DiceSource.seeded(seed != null ? seed : System.nanoTime());
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public Path getEventLogFile() {
+        return eventLogFile;
+    }
+
+    public void setEventLogFile(Path eventLogFile) {
+        this.eventLogFile = eventLogFile;
+    }
+
+    // Logged game to replay instead of asking for players, or null
+    public GameEventReplay.GameRolls getReplay() {
+        return replay;
+    }
+
+    // Autosave location, or null if autosave is off
+    public Path getSaveFile() {
+        return saveFile;
+    }
+
+    public void setSaveFile(Path saveFile) {
+        this.saveFile = saveFile;
+    }
+
+    public GameSpeed getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(GameSpeed speed) {
+        this.speed = speed;
+    }
+
+    public RuleVariant getVariant() {
+        return variant;
+    }
+
+    public void setVariant(RuleVariant variant) {
+        this.variant = variant;
+    }
+
+    // Bot for a seat (0-based), or null if a person plays it
+    public BotStrategy getBot(int seat) {
+        return seat < bots.length ? bots[seat] : null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.snakeandladder;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+// Fixed-layout binary snapshot of a game in progress: which board, whose turn,
+// every position and the dice RNG state. Reads and writes go straight between
+// the engine and a caller-supplied ByteBuffer, so checkpointing thousands of
+// games allocates nothing per game or per player.
+//
+//   int   magic "SLSN"
+//   byte  version
+//   byte  flags (bit 0 = dice state present)
+//   byte  player count
+//   byte  current player
+//   byte  winner (-1 = still running)
+//   long  layout id
+//   long  turn count
+//   long  dice state, long dice gamma (zero if not present)
+//   int   position, once per player
+public final class GameSnapshot {
+
+    static final int MAGIC = 0x534C534E;
+    static final int VERSION = 1;
+
+    private static final int FLAG_DICE = 1;
+    private static final int HEADER_SIZE = 4 + 1 + 1 + 1 + 1 + 1 + 8 + 8 + 8 + 8;
+
+    private GameSnapshot() {
+    }
+
+    // Bytes needed to snapshot a game with this many players
+    public static int size(int playerCount) {
+        return HEADER_SIZE + 4 * playerCount;
+    }
+
+    // Writes the engine's state, plus the dice state if they are SplitMixDice
+    public static void write(GameEngine engine, DiceSource dice, ByteBuffer out) {
+        int players = engine.getPlayerCount();
+        SplitMixDice splitMix = dice instanceof SplitMixDice ? (SplitMixDice) dice : null;
+
+        out.putInt(MAGIC);
+        out.put((byte) VERSION);
+        out.put((byte) (splitMix != null ? FLAG_DICE : 0));
+        out.put((byte) players);
+        out.put((byte) engine.getCurrentPlayerIndex());
+        out.put((byte) engine.getWinner());
+        out.putLong(engine.getLayout().getId());
+        out.putLong(engine.getTurnCount());
+        out.putLong(splitMix != null ? splitMix.getState() : 0);
+        out.putLong(splitMix != null ? splitMix.getGamma() : 0);
+        for (int i = 0; i < players; i++) {
+            out.putInt(engine.getPosition(i));
+        }
+    }
+
+    // Player count of the snapshot starting at the buffer's position, without consuming it
+    public static int peekPlayerCount(ByteBuffer in) {
+        checkHeader(in, in.position());
+        return in.get(in.position() + 6);
+    }
+
+    // Restores a snapshot into the engine (which must be on the same layout).
+    // If the snapshot holds dice state and dice is a SplitMixDice, that is
+    // restored too. Returns true if the dice were restored.
+    public static boolean read(ByteBuffer in, GameEngine engine, DiceSource dice) {
+        try {
+            checkHeader(in, in.position());
+            in.position(in.position() + 5);
+            int flags = in.get();
+            int players = in.get();
+            int current = in.get();
+            int winner = in.get();
+            long layoutId = in.getLong();
+            long turnCount = in.getLong();
+            long diceState = in.getLong();
+            long diceGamma = in.getLong();
+
+            if (layoutId != engine.getLayout().getId()) {
+                throw new IllegalArgumentException("Snapshot was taken on a different board layout");
+            }
+            // Check the positions before touching the engine, so a bad snapshot
+            // leaves the current game as it was
+            if (players < 1 || in.remaining() < 4 * players) {
+                throw new IllegalArgumentException("Snapshot is truncated");
+            }
+            for (int i = 0; i < players; i++) {
+                int square = in.getInt(in.position() + 4 * i);
+                if (square < 1 || square > engine.getFinalSquare()) {
+                    throw new IllegalArgumentException("Snapshot has a token off the board on square " + square);
+                }
+            }
+            engine.restore(players, current, winner, turnCount);
+            for (int i = 0; i < players; i++) {
+                engine.setPosition(i, in.getInt());
+            }
+
+            if ((flags & FLAG_DICE) != 0 && dice instanceof SplitMixDice) {
+                ((SplitMixDice) dice).setState(diceState, diceGamma);
+                return true;
+            }
+            return false;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Snapshot is truncated", e);
+        }
+    }
+
+    private static void checkHeader(ByteBuffer in, int at) {
+        if (in.limit() - at < HEADER_SIZE || in.getInt(at) != MAGIC) {
+            throw new IllegalArgumentException("Not a game snapshot");
+        }
+        if (in.get(at + 4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + in.get(at + 4));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.snakeandladder;
+
+import javafx.util.Duration;
+
+// Playback speed for the UI. Scales every roll, move and pause transition;
+// INSTANT skips them entirely.
+public enum GameSpeed {
+    NORMAL("1x", 1),
+    FAST("4x", 4),
+    INSTANT("Instant", 0);
+
+    private final String label;
+    private final double rate;
+
+    GameSpeed(String label, double rate) {
+        this.label = label;
+        this.rate = rate;
+    }
+
+    public boolean isInstant() {
+        return rate == 0;
+    }
+
+    // Duration of a transition at this speed (zero when instant)
+    public Duration scale(Duration normal) {
+        return isInstant() ? Duration.ZERO : normal.divide(rate);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
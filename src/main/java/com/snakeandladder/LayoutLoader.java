@@ -0,0 +1,163 @@
+package com.snakeandladder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Loads board layouts from a small line-based text format:
+//
+//   # comment
+//   size 10 10      rows and columns, must come first
+//   S 16 6          snake from head 16 down to 6
+//   L 1 38          ladder from 1 up to 38
+//
+// The file is read one line at a time straight into int arrays, so a
+// 1000x1000 board with thousands of snakes never builds per-tile objects.
+// Compiled layouts are cached per file and reloaded when the file changes.
+public class LayoutLoader {
+
+    private static final ConcurrentHashMap<Path, CachedLayout> cache = new ConcurrentHashMap<>();
+
+    private LayoutLoader() {
+    }
+
+    // Loads (or returns the cached) layout for a file
+    public static BoardLayout load(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        FileTime modified = Files.getLastModifiedTime(key);
+
+        CachedLayout cached = cache.get(key);
+        if (cached != null && cached.modified.equals(modified)) {
+            return cached.layout;
+        }
+
+        BoardLayout layout;
+        try (BufferedReader reader = Files.newBufferedReader(key, StandardCharsets.UTF_8)) {
+            layout = parse(reader, key.getFileName().toString());
+        }
+        cache.put(key, new CachedLayout(modified, layout));
+        return layout;
+    }
+
+    public static void clearCache() {
+        cache.clear();
+    }
+
+    // Parses a layout from any reader. The name is only used in error messages.
+    public static BoardLayout parse(Reader in, String name) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+
+        int rows = -1;
+        int cols = -1;
+        IntList snakeHeads = new IntList();
+        IntList snakeTails = new IntList();
+        IntList ladderBottoms = new IntList();
+        IntList ladderTops = new IntList();
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.charAt(0) == '#') continue;
+
+            String[] parts = line.split("\\s+");
+            if (parts.length != 3) {
+                throw error(name, lineNumber, "expected '<keyword> <a> <b>', got '" + line + "'");
+            }
+            int a = parseInt(parts[1], name, lineNumber);
+            int b = parseInt(parts[2], name, lineNumber);
+
+            switch (parts[0]) {
+                case "size":
+                    if (rows != -1) throw error(name, lineNumber, "size given twice");
+                    rows = a;
+                    cols = b;
+                    break;
+                case "S":
+                case "snake":
+                    if (rows == -1) throw error(name, lineNumber, "size must come first");
+                    snakeHeads.add(a);
+                    snakeTails.add(b);
+                    break;
+                case "L":
+                case "ladder":
+                    if (rows == -1) throw error(name, lineNumber, "size must come first");
+                    ladderBottoms.add(a);
+                    ladderTops.add(b);
+                    break;
+                default:
+                    throw error(name, lineNumber, "unknown keyword '" + parts[0] + "'");
+            }
+        }
+        if (rows == -1) {
+            throw new IOException(name + ": missing size line");
+        }
+
+        try {
+            return new BoardLayout(rows, cols, snakeHeads.toArray(), snakeTails.toArray(),
+                    ladderBottoms.toArray(), ladderTops.toArray());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(name + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Writes a layout in the format parse reads
+    public static void write(BoardLayout layout, Appendable out) throws IOException {
+        out.append("size ").append(String.valueOf(layout.getRows()))
+                .append(' ').append(String.valueOf(layout.getCols())).append('\n');
+        for (int i = 0; i < layout.getSnakeCount(); i++) {
+            out.append("S ").append(String.valueOf(layout.getSnakeHead(i)))
+                    .append(' ').append(String.valueOf(layout.getSnakeEnd(i))).append('\n');
+        }
+        for (int i = 0; i < layout.getLadderCount(); i++) {
+            out.append("L ").append(String.valueOf(layout.getLadderBottom(i)))
+                    .append(' ').append(String.valueOf(layout.getLadderEnd(i))).append('\n');
+        }
+    }
+
+    private static int parseInt(String s, String name, int lineNumber) throws IOException {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw error(name, lineNumber, "'" + s + "' is not a number");
+        }
+    }
+
+    private static IOException error(String name, int lineNumber, String message) {
+        return new IOException(name + ":" + lineNumber + ": " + message);
+    }
+
+    private static class CachedLayout {
+        final FileTime modified;
+        final BoardLayout layout;
+
+        CachedLayout(FileTime modified, BoardLayout layout) {
+            this.modified = modified;
+            this.layout = layout;
+        }
+    }
+
+    // Minimal growable int array so parsing doesn't box every number
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
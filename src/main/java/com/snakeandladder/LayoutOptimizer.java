@@ -0,0 +1,388 @@
+package com.snakeandladder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Searches for snake and ladder placements that give a target game length, so
+// designers can ask for "a player needs 35 turns on average and 95% finish
+// within 70" instead of hand-tuning squares.
+//
+// Simulated annealing, one independent chain per core. Each step moves one end
+// of one snake or ladder and re-scores with MarkovSolver, incrementally: only
+// the six transition rows that roll onto the changed square are patched, and
+// the expected-turns and second-moment vectors are re-solved warm from the
+// previous step's solution. The exact 95th percentile needs the turn
+// distribution, so it's only propagated once the mean is close to the target.
+//
+// Lengths here are turns for a single player, which doesn't depend on how
+// many people are playing.
+public class LayoutOptimizer {
+
+    // Mean within this many turns of the target counts as on target
+    private static final double MEAN_TOLERANCE = 0.5;
+    // Work out the exact p95 once the mean is this close (relative)
+    private static final double EXACT_P95_RANGE = 0.1;
+    // Moment-based p95 guess for everything else, the length distribution has
+    // a long right tail so mean + 1.645 sd would undershoot
+    private static final double P95_SDS = 2.0;
+    private static final double START_TEMPERATURE = 0.02;
+    // Square updates one evaluation may spend solving before the layout counts
+    // as infeasible. Layouts that are only just finishable converge very slowly
+    // and would otherwise run right past the deadline.
+    private static final int SWEEP_BUDGET = 10_000_000;
+    // Random starting layouts to try before giving up on the board
+    private static final int PLACEMENT_ATTEMPTS = 10_000;
+
+    private final int rows;
+    private final int cols;
+    private final int snakes;
+    private final int ladders;
+    private final double targetMean;
+    private final int maxP95;
+    private final int parallelism;
+
+    public LayoutOptimizer(int rows, int cols, int snakes, int ladders, double targetMean, int maxP95, int parallelism) {
+        int squares = rows * cols;
+        // Every end gets its own square and nothing starts on 1 or the last square
+        if (snakes < 0 || ladders < 0 || 2 * (snakes + ladders) > squares - 2) {
+            throw new IllegalArgumentException("Can't fit " + snakes + " snakes and " + ladders
+                    + " ladders on a " + rows + "x" + cols + " board");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.snakes = snakes;
+        this.ladders = ladders;
+        this.targetMean = targetMean;
+        this.maxP95 = maxP95;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    // Runs a chain per thread until one hits the target or time runs out, and
+    // returns the best layout found
+    public Result optimize(long timeLimitMillis, long seed) {
+        AtomicBoolean solved = new AtomicBoolean();
+        long deadline = System.nanoTime() + timeLimitMillis * 1_000_000L;
+        SplitMixDice dice = DiceSource.seeded(seed);
+
+        List<Chain> chains = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            chains.add(new Chain(dice.split(), deadline, solved));
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            chains.forEach(pool::execute);
+            Result best = null;
+            for (Chain chain : chains) {
+                Result r = chain.join();
+                if (best == null || r.score < best.score) {
+                    best = r;
+                }
+            }
+            return best;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    // One annealing run. Snakes are items [0, snakes), ladders the rest.
+    private class Chain extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final SplitMixDice dice;
+        private final long deadline;
+        private final AtomicBoolean solved;
+
+        private final int finalSquare = rows * cols;
+        private final int[] starts = new int[snakes + ladders];
+        private final int[] ends = new int[snakes + ladders];
+        private final boolean[] used = new boolean[finalSquare + 1]; // Square holds some end
+        private final int maxSweeps = Math.max(1000, SWEEP_BUDGET / finalSquare);
+
+        private MarkovSolver solver;
+        private double[] e = new double[finalSquare + 1];
+        private double[] m2 = new double[finalSquare + 1];
+        private double[] savedE = new double[finalSquare + 1];
+        private double[] savedM2 = new double[finalSquare + 1];
+        private double mean;
+        private double sd;
+        private int p95; // Exact, or -1 if only estimated
+        private long steps;
+
+        Chain(SplitMixDice dice, long deadline, AtomicBoolean solved) {
+            this.dice = dice;
+            this.deadline = deadline;
+            this.solved = solved;
+        }
+
+        @Override
+        protected Result compute() {
+            double score = placeFinishable();
+            Result best = snapshot(score);
+
+            long start = System.nanoTime();
+            double span = deadline - start;
+            while (!solved.get()) {
+                long now = System.nanoTime();
+                if (now >= deadline) break;
+                double temperature = START_TEMPERATURE * (1 - (now - start) / span);
+
+                // Try a batch of moves between clock checks
+                for (int i = 0; i < 64; i++) {
+                    steps++;
+                    int item = (int) Long.remainderUnsigned(dice.nextLong(), starts.length);
+                    boolean moveStart = (dice.nextLong() & 1) == 0;
+                    int oldSquare = moveStart ? starts[item] : ends[item];
+                    int newSquare = proposeSquare(item, moveStart);
+                    if (newSquare == -1) continue;
+
+                    double oldMean = mean;
+                    double oldSd = sd;
+                    int oldP95 = p95;
+                    System.arraycopy(e, 0, savedE, 0, e.length);
+                    System.arraycopy(m2, 0, savedM2, 0, m2.length);
+
+                    move(item, moveStart, newSquare);
+                    double candidate = evaluate();
+                    double delta = candidate - score;
+                    if (candidate != Double.POSITIVE_INFINITY
+                            && (delta <= 0 || toUnit(dice.nextLong()) < Math.exp(-delta / temperature))) {
+                        score = candidate;
+                        if (score < best.score) {
+                            best = snapshot(score);
+                            if (best.isOnTarget()) {
+                                solved.set(true);
+                                return best;
+                            }
+                        }
+                    } else {
+                        // Undo, and put back the solution we solved from
+                        move(item, moveStart, oldSquare);
+                        double[] swap = e;
+                        e = savedE;
+                        savedE = swap;
+                        swap = m2;
+                        m2 = savedM2;
+                        savedM2 = swap;
+                        mean = oldMean;
+                        sd = oldSd;
+                        p95 = oldP95;
+                    }
+                }
+            }
+            return best;
+        }
+
+        // Lower is better, zero means on target. Infinite if a player can get stuck
+        // for good, or the layout is too close to that to solve in the budget.
+        private double evaluate() {
+            if (!solver.canFinish()
+                    || solver.expectedTurnsFrom(e, maxSweeps) == -1
+                    || solver.secondMomentFrom(e, m2, maxSweeps) == -1) {
+                return Double.POSITIVE_INFINITY;
+            }
+            mean = e[1];
+            sd = Math.sqrt(Math.max(0, m2[1] - mean * mean));
+
+            double meanError = Math.abs(mean - targetMean);
+            double meanTerm = Math.max(0, meanError - MEAN_TOLERANCE) / targetMean;
+            double p95Value;
+            if (meanError / targetMean <= EXACT_P95_RANGE) {
+                p95 = solver.soloPercentile(0.95);
+                p95Value = p95;
+            } else {
+                p95 = -1;
+                p95Value = mean + P95_SDS * sd;
+            }
+            double p95Term = Math.max(0, p95Value - maxP95) / maxP95;
+            return meanTerm * meanTerm + p95Term * p95Term;
+        }
+
+        // A free square for one end of an item that keeps it pointing the right
+        // way, usually near where it is now. -1 if the pick didn't work out.
+        private int proposeSquare(int item, boolean moveStart) {
+            int current = moveStart ? starts[item] : ends[item];
+            int square;
+            if ((dice.nextLong() & 3) == 0) {
+                square = 1 + (int) Long.remainderUnsigned(dice.nextLong(), finalSquare);
+            } else {
+                int reach = Math.max(6, finalSquare / 10);
+                square = current - reach + (int) Long.remainderUnsigned(dice.nextLong(), 2 * reach + 1);
+            }
+            if (!isValid(item, moveStart ? square : starts[item], moveStart ? ends[item] : square)) {
+                return -1;
+            }
+            return used[square] ? -1 : square;
+        }
+
+        private boolean isValid(int item, int start, int end) {
+            if (start < 2 || start >= finalSquare || end < 1 || end > finalSquare) return false;
+            return item < snakes ? end < start : end > start;
+        }
+
+        private void move(int item, boolean moveStart, int square) {
+            if (moveStart) {
+                used[starts[item]] = false;
+                solver.setJump(starts[item], starts[item]);
+                starts[item] = square;
+            } else {
+                used[ends[item]] = false;
+                ends[item] = square;
+            }
+            used[square] = true;
+            solver.setJump(starts[item], ends[item]);
+        }
+
+        // Random starting layout every game can finish on, and its score
+        private double placeFinishable() {
+            for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS; attempt++) {
+                Arrays.fill(used, false);
+                placeRandomly();
+                try {
+                    solver = new MarkovSolver(toLayout());
+                } catch (IllegalArgumentException ignored) {
+                    // The last square is cut off, try again
+                    continue;
+                }
+                double score = evaluate();
+                if (score != Double.POSITIVE_INFINITY) {
+                    return score;
+                }
+            }
+            throw new IllegalArgumentException("Couldn't place " + snakes + " snakes and " + ladders
+                    + " ladders on a " + rows + "x" + cols + " board so that every game can finish");
+        }
+
+        private void placeRandomly() {
+            for (int item = 0; item < starts.length; item++) {
+                int start;
+                int end;
+                do {
+                    start = 1 + (int) Long.remainderUnsigned(dice.nextLong(), finalSquare);
+                    end = 1 + (int) Long.remainderUnsigned(dice.nextLong(), finalSquare);
+                } while (start == end || used[start] || used[end] || !isValid(item, start, end));
+                starts[item] = start;
+                ends[item] = end;
+                used[start] = true;
+                used[end] = true;
+            }
+        }
+
+        private BoardLayout toLayout() {
+            int n = starts.length;
+            return new BoardLayout(rows, cols,
+                    Arrays.copyOfRange(starts, 0, snakes), Arrays.copyOfRange(ends, 0, snakes),
+                    Arrays.copyOfRange(starts, snakes, n), Arrays.copyOfRange(ends, snakes, n));
+        }
+
+        private Result snapshot(double score) {
+            int exactP95 = p95 != -1 ? p95 : solver.soloPercentile(0.95);
+            boolean onTarget = Math.abs(mean - targetMean) <= MEAN_TOLERANCE && exactP95 <= maxP95;
+            return new Result(toLayout(), mean, sd, exactP95, score, steps, onTarget);
+        }
+    }
+
+    private static double toUnit(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+
+    // Best layout a run found and how it scores
+    public static class Result {
+        private final BoardLayout layout;
+        private final double mean;
+        private final double sd;
+        private final int p95;
+        private final double score;
+        private final long steps;
+        private final boolean onTarget;
+
+        Result(BoardLayout layout, double mean, double sd, int p95, double score, long steps, boolean onTarget) {
+            this.layout = layout;
+            this.mean = mean;
+            this.sd = sd;
+            this.p95 = p95;
+            this.score = score;
+            this.steps = steps;
+            this.onTarget = onTarget;
+        }
+
+        public BoardLayout getLayout() {
+            return layout;
+        }
+
+        // Expected turns for one player to finish
+        public double getMeanTurns() {
+            return mean;
+        }
+
+        public double getTurnsStandardDeviation() {
+            return sd;
+        }
+
+        public int getP95Turns() {
+            return p95;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        // Annealing steps the winning chain had taken when this was found
+        public long getSteps() {
+            return steps;
+        }
+
+        public boolean isOnTarget() {
+            return onTarget;
+        }
+    }
+
+    // Usage: LayoutOptimizer [mean turns] [max p95] [rows] [cols] [snakes] [ladders]
+    //                        [seconds] [threads] [seed] [output layout file]
+    public static void main(String[] args) throws IOException {
+        double mean = args.length > 0 ? Double.parseDouble(args[0]) : 35;
+        int p95 = args.length > 1 ? Integer.parseInt(args[1]) : 70;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int cols = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int snakes = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+        int ladders = args.length > 5 ? Integer.parseInt(args[5]) : 9;
+        long seconds = args.length > 6 ? Long.parseLong(args[6]) : 10;
+        int threads = args.length > 7 ? Integer.parseInt(args[7]) : 0;
+        long seed = args.length > 8 ? Long.parseLong(args[8]) : System.nanoTime();
+
+        LayoutOptimizer optimizer = new LayoutOptimizer(rows, cols, snakes, ladders, mean, p95, threads);
+        long start = System.nanoTime();
+        Result result = optimizer.optimize(seconds * 1000, seed);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s after %.2f s (%d threads, seed %d, %,d steps)%n",
+                result.isOnTarget() ? "On target" : "Best found", elapsed,
+                optimizer.getParallelism(), seed, result.getSteps());
+        System.out.printf("Turns per player: mean %.2f, sd %.2f, p95 %d%n",
+                result.getMeanTurns(), result.getTurnsStandardDeviation(), result.getP95Turns());
+
+        if (args.length > 9) {
+            Path out = Path.of(args[9]);
+            try (BufferedWriter writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+                LayoutLoader.write(result.getLayout(), writer);
+            }
+            System.out.println("Saved to " + out);
+        } else {
+            StringBuilder sb = new StringBuilder();
+            LayoutLoader.write(result.getLayout(), sb);
+            System.out.print(sb);
+        }
+    }
+}
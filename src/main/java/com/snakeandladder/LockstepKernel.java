@@ -0,0 +1,36 @@
+package com.snakeandladder;
+
+// One seat's turn across every lane of a LockstepSimulator. There are two
+// implementations with identical results: VectorLockstepKernel uses the
+// incubating Vector API and ScalarLockstepKernel is the plain-loop fallback.
+//
+// Dice are a per-lane xorshift128 held in four int[] words. Only the oldest and
+// newest word take part in a step, and the new value replaces the oldest, so
+// the caller rotates the four arrays instead of shifting them around.
+interface LockstepKernel {
+
+    // Rolls for every lane and moves the token in positions for the active ones.
+    // Lanes whose token reaches the last square are switched off in active and
+    // their index written to finished. Returns how many finished.
+    int move(int[] positions, boolean[] active, int[] oldest, int[] newest, int[] finished);
+
+    // Which implementation this is, for reports
+    String getName();
+
+    // Vector kernel when jdk.incubator.vector is available (the JVM needs
+    // --add-modules jdk.incubator.vector), scalar otherwise or when
+    // -Dsnakeandladder.scalar=true asks for it
+    static LockstepKernel create(BoardLayout layout) {
+        if (!Boolean.getBoolean("snakeandladder.scalar")) {
+            try {
+                // Loaded by name so this class never links against the incubator module
+                return (LockstepKernel) Class.forName("com.snakeandladder.VectorLockstepKernel")
+                        .getDeclaredConstructor(BoardLayout.class)
+                        .newInstance(layout);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Module not resolved, or no useful vector width on this CPU
+            }
+        }
+        return new ScalarLockstepKernel(layout);
+    }
+}
@@ -0,0 +1,160 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Data-parallel batch mode: thousands of independent games (lanes) advance in
+// lockstep, one seat's turn for every lane at a time, so the inner loop is a
+// straight run over int[] lanes that LockstepKernel can vectorise.
+//
+// Lanes are all on the same seat at every step. A lane whose game is won sits
+// out the rest of the round and starts a fresh game at the next one, which
+// keeps the seats aligned at the cost of a few idle lane-turns per game.
+//
+// Rules are GameEngine's (exact roll to finish, one snake or ladder per move),
+// but the dice are a per-lane xorshift128 rather than SplitMixDice, so runs
+// don't match MonteCarloSimulator game for game, only statistically. Snake and
+// ladder hits aren't counted: a scattered increment per lane doesn't vectorise
+// and would cost more than the move itself. Use MonteCarloSimulator for those.
+public class LockstepSimulator {
+
+    public static final int DEFAULT_LANES = 4096;
+
+    private final BoardLayout layout;
+    private final int playerCount;
+    private final int lanes;
+    private final LockstepKernel kernel;
+
+    public LockstepSimulator(BoardLayout layout, int playerCount) {
+        this(layout, playerCount, DEFAULT_LANES);
+    }
+
+    public LockstepSimulator(BoardLayout layout, int playerCount, int lanes) {
+        this(layout, playerCount, lanes, LockstepKernel.create(layout));
+    }
+
+    // With a given kernel, so tests can hold the two against each other
+    LockstepSimulator(BoardLayout layout, int playerCount, int lanes, LockstepKernel kernel) {
+        if (playerCount < 2 || playerCount > 6) {
+            throw new IllegalArgumentException("Player count must be 2-6, got " + playerCount);
+        }
+        if (lanes < 1) {
+            throw new IllegalArgumentException("Need at least one lane, got " + lanes);
+        }
+        this.layout = layout;
+        this.playerCount = playerCount;
+        // Whole vectors only, so the kernels never need a tail loop
+        int width = VectorLockstepKernel.MAX_LANES_PER_VECTOR;
+        this.lanes = (lanes + width - 1) / width * width;
+        this.kernel = kernel;
+    }
+
+    // Plays exactly the given number of games on the calling thread. Results
+    // only depend on the seed and the lane count, not on which kernel ran.
+    public SimulationResult run(long games, long seed) {
+        SimulationResult result = new SimulationResult(playerCount, layout.getFinalSquare());
+
+        int[][] positions = new int[playerCount][lanes];
+        boolean[] active = new boolean[lanes];
+        int[] startRound = new int[lanes];
+        int[] finished = new int[lanes];
+        int[] idle = new int[lanes];
+        int[][] rng = seedLanes(seed);
+
+        long started = Math.min(games, lanes);
+        for (int lane = 0; lane < started; lane++) {
+            active[lane] = true;
+        }
+        for (int[] seat : positions) {
+            Arrays.fill(seat, 1);
+        }
+        long playing = started;
+
+        int oldest = 0; // Which rng word is the oldest, rotates every step
+        int round = 0;
+        while (playing > 0) {
+            int idleCount = 0;
+            for (int seat = 0; seat < playerCount; seat++) {
+                int done = kernel.move(positions[seat], active, rng[oldest], rng[(oldest + 3) & 3], finished);
+                oldest = (oldest + 1) & 3;
+                for (int j = 0; j < done; j++) {
+                    int lane = finished[j];
+                    result.recordGame((long) (round - startRound[lane]) * playerCount + seat + 1, seat);
+                    idle[idleCount++] = lane;
+                }
+            }
+            playing -= idleCount;
+            round++;
+
+            // Fresh games for the lanes that finished, while there are games left
+            for (int j = 0; j < idleCount && started < games; j++) {
+                int lane = idle[j];
+                for (int[] seat : positions) {
+                    seat[lane] = 1;
+                }
+                startRound[lane] = round;
+                active[lane] = true;
+                started++;
+                playing++;
+            }
+        }
+        return result;
+    }
+
+    // Four xorshift128 words per lane from a SplitMix64 stream
+    private int[][] seedLanes(long seed) {
+        SplitMixDice seeder = DiceSource.seeded(seed);
+        int[][] rng = new int[4][lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            long a = seeder.nextLong();
+            long b = seeder.nextLong();
+            if ((a | b) == 0) {
+                a = 1; // All-zero state never leaves zero
+            }
+            rng[0][lane] = (int) a;
+            rng[1][lane] = (int) (a >>> 32);
+            rng[2][lane] = (int) b;
+            rng[3][lane] = (int) (b >>> 32);
+        }
+        return rng;
+    }
+
+    public int getLanes() {
+        return lanes;
+    }
+
+    public String getKernelName() {
+        return kernel.getName();
+    }
+
+    // Usage: java --add-modules jdk.incubator.vector ... LockstepSimulator [games] [players] [lanes] [seed] [layout file]
+    // Add -Dsnakeandladder.scalar=true to force the fallback kernel. Compares
+    // against MonteCarloSimulator on one thread.
+    public static void main(String[] args) throws IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int lanes = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_LANES;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        BoardLayout layout = args.length > 4 ? LayoutLoader.load(Path.of(args[4])) : BoardLayout.classic();
+
+        LockstepSimulator lockstep = new LockstepSimulator(layout, players, lanes);
+        MonteCarloSimulator scalar = new MonteCarloSimulator(layout, players, 1);
+        SimulationResult result = null;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            result = lockstep.run(games, seed + run);
+            double lockstepSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            SimulationResult reference = scalar.run(games, seed + run);
+            double scalarSeconds = (System.nanoTime() - start) / 1e9;
+
+            double lockstepRate = result.getTotalTurns() / lockstepSeconds / 1e6;
+            double scalarRate = reference.getTotalTurns() / scalarSeconds / 1e6;
+            System.out.printf("Lockstep (%s, %d lanes): %.1f M turns/s, game at a time: %.1f M turns/s, %.1fx%n",
+                    lockstep.getKernelName(), lockstep.getLanes(), lockstepRate, scalarRate, lockstepRate / scalarRate);
+        }
+        System.out.print(result.report());
+    }
+}
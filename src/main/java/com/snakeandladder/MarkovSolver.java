@@ -0,0 +1,384 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+// Exact analysis of a layout as an absorbing Markov chain. A player's position
+// is the state, each roll of the die moves to one of six successors with
+// probability 1/6, and the last square is absorbing. Same rules as the engine:
+// a roll past the last square leaves the player where they are.
+//
+// Transitions are stored sparsely (six destinations per square) and all vectors
+// are primitive double[] so re-solving after a layout change is very cheap.
+//
+// Only defined when the game always ends: if some square a player can reach
+// can never get to the last square, the solving methods throw
+// IllegalArgumentException instead of iterating forever. canFinish() checks.
+public class MarkovSolver {
+
+    private static final int FACES = DiceSource.FACES;
+    private static final double P_ROLL = 1.0 / FACES;
+
+    // Default cut-off for the turn distribution: stop once this little mass is left
+    public static final double DEFAULT_EPSILON = 1e-12;
+
+    private final int finalSquare;
+    private final int[] next; // next[square * FACES + roll - 1] = where that roll ends up
+    // Squares with no sure way to the end: from each of them some run of rolls
+    // leads somewhere the last square can't be reached from. null until worked
+    // out, and again after setJump.
+    private boolean[] trapped;
+
+    public MarkovSolver(BoardLayout layout) {
+        this.finalSquare = layout.getFinalSquare();
+        this.next = new int[(finalSquare + 1) * FACES];
+
+        for (int square = 1; square <= finalSquare; square++) {
+            for (int roll = 1; roll <= FACES; roll++) {
+                int target = square + roll;
+                // Need exact roll to win, otherwise follow any snake or ladder
+                next[square * FACES + roll - 1] = target > finalSquare ? square : layout.getJump(target);
+            }
+        }
+    }
+
+    // Copy with its own transition table, for editing with setJump
+    MarkovSolver(MarkovSolver other) {
+        this.finalSquare = other.finalSquare;
+        this.next = other.next.clone();
+    }
+
+    // Makes landing on a square send the player to dest instead (dest == square
+    // removes whatever was there). Only the six squares that can roll onto it
+    // change, so this is all the re-building a small layout edit needs.
+    // Doesn't follow chains, callers must not put a jump onto another jump's start.
+    void setJump(int square, int dest) {
+        for (int from = Math.max(1, square - FACES); from < square; from++) {
+            next[from * FACES + square - from - 1] = dest;
+        }
+        trapped = null;
+    }
+
+    // True if a player starting on square 1 is certain to finish eventually
+    public boolean canFinish() {
+        return !trapped()[1];
+    }
+
+    private boolean[] trapped() {
+        if (trapped == null) {
+            IntBinaryOperator successor = (square, roll) -> next[square * FACES + roll - 1];
+            boolean[] end = new boolean[finalSquare + 1];
+            end[finalSquare] = true;
+            boolean[] finishes = BoardLayout.canReach(finalSquare, successor, end);
+            boolean[] dead = new boolean[finalSquare + 1];
+            for (int square = 1; square < finalSquare; square++) {
+                dead[square] = !finishes[square];
+            }
+            trapped = BoardLayout.canReach(finalSquare, successor, dead);
+        }
+        return trapped;
+    }
+
+    private boolean[] requireFinishable() {
+        boolean[] stuck = trapped();
+        if (stuck[1]) {
+            throw new IllegalArgumentException("The last square can't always be reached from square 1, the game might never end");
+        }
+        return stuck;
+    }
+
+    public int getFinalSquare() {
+        return finalSquare;
+    }
+
+    // Expected number of turns a single player needs from square 1
+    public double expectedTurns() {
+        return expectedTurnsFrom()[1];
+    }
+
+    // Expected remaining turns from every square (index = square), solved with
+    // Gauss-Seidel sweeps. Snakes make the system cyclic so it can't be solved by
+    // plain back substitution, but it converges in a handful of sweeps.
+    public double[] expectedTurnsFrom() {
+        double[] e = new double[finalSquare + 1];
+        expectedTurnsFrom(e);
+        return e;
+    }
+
+    // Same, but solving in place starting from whatever e holds. After a small
+    // edit the previous solution is already close, so this takes far fewer
+    // sweeps than starting from zero. Returns the number of sweeps. Squares a
+    // player can't get to without risking being stuck forever come out infinite.
+    int expectedTurnsFrom(double[] e) {
+        return expectedTurnsFrom(e, Integer.MAX_VALUE);
+    }
+
+    // Gives up after maxSweeps and returns -1. Layouts that are finishable but
+    // only just (expected turns in the thousands) converge very slowly, so
+    // searches that only care about reasonable layouts can cut them short.
+    int expectedTurnsFrom(double[] e, int maxSweeps) {
+        boolean[] stuck = requireFinishable();
+        resetUnstuck(e, stuck);
+        int sweeps = 0;
+        double delta;
+        do {
+            if (sweeps == maxSweeps) return -1;
+            delta = 0;
+            for (int square = finalSquare - 1; square >= 1; square--) {
+                if (stuck[square]) {
+                    e[square] = Double.POSITIVE_INFINITY;
+                    continue;
+                }
+                double sum = 0;
+                int self = 0;
+                int base = square * FACES;
+                for (int r = 0; r < FACES; r++) {
+                    int to = next[base + r];
+                    if (to == square) {
+                        self++;
+                    } else {
+                        sum += e[to];
+                    }
+                }
+                double value = (1 + sum * P_ROLL) / (1 - self * P_ROLL);
+                // Relative, an absolute 1e-12 is below the rounding error once
+                // expected turns get into the thousands
+                delta = Math.max(delta, Math.abs(value - e[square]) / value);
+                e[square] = value;
+            }
+            sweeps++;
+        } while (delta > 1e-12);
+        return sweeps;
+    }
+
+    // Second moment of the remaining turns, E[T^2] per square, solved in place
+    // like expectedTurnsFrom. e must already hold the expected turns. From
+    // T = 1 + T' we get E[T^2] = 1 + 2 E[T'] + E[T'^2] averaged over the rolls.
+    int secondMomentFrom(double[] e, double[] m2) {
+        return secondMomentFrom(e, m2, Integer.MAX_VALUE);
+    }
+
+    // Gives up after maxSweeps and returns -1, see expectedTurnsFrom
+    int secondMomentFrom(double[] e, double[] m2, int maxSweeps) {
+        boolean[] stuck = requireFinishable();
+        resetUnstuck(m2, stuck);
+        int sweeps = 0;
+        double delta;
+        do {
+            if (sweeps == maxSweeps) return -1;
+            delta = 0;
+            for (int square = finalSquare - 1; square >= 1; square--) {
+                if (stuck[square]) {
+                    m2[square] = Double.POSITIVE_INFINITY;
+                    continue;
+                }
+                double sum = 0;
+                int self = 0;
+                int base = square * FACES;
+                for (int r = 0; r < FACES; r++) {
+                    int to = next[base + r];
+                    if (to == square) {
+                        self++;
+                        sum += 2 * e[to];
+                    } else {
+                        sum += 2 * e[to] + m2[to];
+                    }
+                }
+                double value = (1 + sum * P_ROLL) / (1 - self * P_ROLL);
+                delta = Math.max(delta, Math.abs(value - m2[square]) / value);
+                m2[square] = value;
+            }
+            sweeps++;
+        } while (delta > 1e-12);
+        return sweeps;
+    }
+
+    // A warm start may still hold infinities from a layout where a square was
+    // stuck. Left in, they make the convergence check NaN and end the solve early.
+    private void resetUnstuck(double[] values, boolean[] stuck) {
+        for (int square = 1; square < finalSquare; square++) {
+            if (!stuck[square] && Double.isInfinite(values[square])) {
+                values[square] = 0;
+            }
+        }
+    }
+
+    // Fewest turns within which a single player finishes with at least the given
+    // probability. Stops propagating as soon as it gets there, so low
+    // percentiles are much cheaper than a full turnDistribution.
+    public int soloPercentile(double fraction) {
+        requireFinishable();
+        double[] current = new double[finalSquare + 1];
+        double[] following = new double[finalSquare + 1];
+        current[1] = 1.0;
+        double finished = 0;
+        int turn = 0;
+        while (finished < fraction) {
+            turn++;
+            Arrays.fill(following, 0);
+            for (int square = 1; square < finalSquare; square++) {
+                double p = current[square];
+                if (p == 0) continue;
+                double share = p * P_ROLL;
+                int base = square * FACES;
+                for (int r = 0; r < FACES; r++) {
+                    following[next[base + r]] += share;
+                }
+            }
+            finished += following[finalSquare];
+            following[finalSquare] = 0;
+
+            double[] swap = current;
+            current = following;
+            following = swap;
+        }
+        return turn;
+    }
+
+    // Probability that a single player reaches the last square on exactly turn t
+    // (index = t). Propagates the position distribution until less than epsilon
+    // of the probability mass is still on the board.
+    public double[] turnDistribution(double epsilon) {
+        requireFinishable();
+        double[] current = new double[finalSquare + 1];
+        double[] following = new double[finalSquare + 1];
+        double[] finish = new double[64];
+        current[1] = 1.0;
+        double remaining = 1.0;
+
+        int turn = 0;
+        while (remaining > epsilon) {
+            turn++;
+            Arrays.fill(following, 0);
+            for (int square = 1; square < finalSquare; square++) {
+                double p = current[square];
+                if (p == 0) continue;
+                double share = p * P_ROLL;
+                int base = square * FACES;
+                for (int r = 0; r < FACES; r++) {
+                    following[next[base + r]] += share;
+                }
+            }
+
+            if (turn >= finish.length) {
+                finish = Arrays.copyOf(finish, finish.length * 2);
+            }
+            finish[turn] = following[finalSquare];
+            remaining -= following[finalSquare];
+            following[finalSquare] = 0; // Absorbed, stop tracking it
+
+            double[] swap = current;
+            current = following;
+            following = swap;
+        }
+        return Arrays.copyOf(finish, turn + 1);
+    }
+
+    // Exact odds for a full game: players take turns in seat order and the first to
+    // reach the last square wins. Players don't interact, so seat i wins on round r
+    // when it finishes on its r-th turn, every earlier seat needs more than r turns
+    // and every later seat needs more than r - 1.
+    public GameOdds solveGame(int playerCount) {
+        return solveGame(playerCount, DEFAULT_EPSILON);
+    }
+
+    public GameOdds solveGame(int playerCount, double epsilon) {
+        double[] solo = turnDistribution(epsilon);
+        int rounds = solo.length - 1;
+
+        // survival[t] = P(a single player needs more than t turns)
+        double[] survival = new double[rounds + 1];
+        survival[0] = 1.0;
+        for (int t = 1; t <= rounds; t++) {
+            survival[t] = Math.max(0, survival[t - 1] - solo[t]);
+        }
+
+        double[] winBySeat = new double[playerCount];
+        double[] length = new double[rounds * playerCount + 1];
+        for (int r = 1; r <= rounds; r++) {
+            for (int seat = 0; seat < playerCount; seat++) {
+                double p = solo[r]
+                        * Math.pow(survival[r], seat)
+                        * Math.pow(survival[r - 1], playerCount - 1 - seat);
+                winBySeat[seat] += p;
+                length[(r - 1) * playerCount + seat + 1] += p;
+            }
+        }
+        return new GameOdds(playerCount, winBySeat, length);
+    }
+
+    // Result of solveGame
+    public static class GameOdds {
+        private final int playerCount;
+        private final double[] winBySeat;
+        private final double[] length; // index = total turns the game took
+
+        GameOdds(int playerCount, double[] winBySeat, double[] length) {
+            this.playerCount = playerCount;
+            this.winBySeat = winBySeat;
+            this.length = length;
+        }
+
+        public int getPlayerCount() {
+            return playerCount;
+        }
+
+        public double getWinProbability(int seat) {
+            return winBySeat[seat];
+        }
+
+        // Probability the game lasts exactly the given number of turns
+        public double getLengthProbability(int turns) {
+            return turns < length.length ? length[turns] : 0;
+        }
+
+        public int getMaxLength() {
+            return length.length - 1;
+        }
+
+        public double getExpectedLength() {
+            double sum = 0;
+            for (int t = 1; t < length.length; t++) {
+                sum += t * length[t];
+            }
+            return sum;
+        }
+
+        public int getLengthPercentile(double fraction) {
+            double seen = 0;
+            for (int t = 1; t < length.length; t++) {
+                seen += length[t];
+                if (seen >= fraction) {
+                    return t;
+                }
+            }
+            return length.length - 1;
+        }
+    }
+
+    // Usage: MarkovSolver [players] [layout file]
+    public static void main(String[] args) throws IOException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        BoardLayout layout = args.length > 1 ? LayoutLoader.load(Path.of(args[1])) : BoardLayout.classic();
+
+        long start = System.nanoTime();
+        MarkovSolver solver = new MarkovSolver(layout);
+        GameOdds odds = solver.solveGame(players);
+        double expectedSolo = solver.expectedTurns();
+        double micros = (System.nanoTime() - start) / 1e3;
+
+        System.out.printf("Single player expected turns: %.6f%n", expectedSolo);
+        System.out.printf("%d-player game length (turns): mean %.6f, p50 %d, p90 %d, p95 %d, p99 %d%n",
+                players, odds.getExpectedLength(), odds.getLengthPercentile(0.50),
+                odds.getLengthPercentile(0.90), odds.getLengthPercentile(0.95),
+                odds.getLengthPercentile(0.99));
+        System.out.print("Win probability by seat:");
+        for (int i = 0; i < players; i++) {
+            System.out.printf(" P%d=%.6f", i + 1, odds.getWinProbability(i));
+        }
+        System.out.println();
+        System.out.printf("Solved in %.1f us%n", micros);
+    }
+}
@@ -0,0 +1,121 @@
+package com.snakeandladder;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// One game hosted by MatchServer. All of its state is private to the match and
+// only its own turn loop (running on its own, ideally virtual, thread) touches
+// the engine and dice. Players talk to it by queueing roll requests; bot seats
+// roll for themselves.
+public class Match implements Runnable {
+
+    // Called on the match thread after every turn
+    public interface Listener {
+        void onTurn(Match match, TurnOutcome outcome);
+    }
+
+    private final long id;
+    private final GameEngine engine;
+    private final DiceSource dice;
+    private final boolean[] botSeats;
+    private final BlockingQueue<RollRequest> requests = new LinkedBlockingQueue<>();
+    private final Runnable onFinished;
+    private volatile Listener listener;
+    private volatile boolean finished;
+
+    Match(long id, BoardLayout layout, int playerCount, DiceSource dice, boolean[] botSeats, Runnable onFinished) {
+        this.id = id;
+        this.engine = new GameEngine(layout);
+        this.engine.start(playerCount);
+        this.dice = dice;
+        this.botSeats = botSeats;
+        this.onFinished = onFinished;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getPlayerCount() {
+        return botSeats.length;
+    }
+
+    public BoardLayout getLayout() {
+        return engine.getLayout();
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // Asks to roll for a seat. Completes with the outcome once the match thread has
+    // played it, or exceptionally if it isn't that seat's turn or the match is over.
+    public CompletableFuture<TurnOutcome> roll(int seat) {
+        RollRequest request = new RollRequest(seat);
+        if (finished) {
+            request.future.completeExceptionally(new IllegalStateException("Match " + id + " is over"));
+            return request.future;
+        }
+        requests.add(request);
+        // The match may have finished and drained the queue between the check
+        // and the add. If so nobody will ever take this request, so fail it here.
+        // If remove() loses, the drain already got to it.
+        if (finished && requests.remove(request)) {
+            request.future.completeExceptionally(new IllegalStateException("Match " + id + " is over"));
+        }
+        return request.future;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (engine.isGameRunning()) {
+                int seat = engine.getCurrentPlayerIndex();
+                RollRequest request = null;
+
+                if (!botSeats[seat]) {
+                    request = requests.take();
+                    if (request.seat != seat) {
+                        request.future.completeExceptionally(
+                                new IllegalStateException("Not seat " + request.seat + "'s turn, waiting for seat " + seat));
+                        continue;
+                    }
+                }
+
+                long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
+                GameEngine.TurnResult result = engine.playTurn(dice.roll());
+                if (GameMetrics.ENABLED) GameMetrics.get().turnPlayed(System.nanoTime() - start);
+                Listener l = listener;
+                if (request != null || l != null) {
+                    TurnOutcome outcome = TurnOutcome.of(engine, result);
+                    if (request != null) request.future.complete(outcome);
+                    if (l != null) l.onTurn(this, outcome);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finished = true;
+            // Anyone still waiting gets told the match is gone
+            RollRequest leftover;
+            while ((leftover = requests.poll()) != null) {
+                leftover.future.completeExceptionally(new IllegalStateException("Match " + id + " is over"));
+            }
+            onFinished.run();
+        }
+    }
+
+    private static class RollRequest {
+        final int seat;
+        final CompletableFuture<TurnOutcome> future = new CompletableFuture<>();
+
+        RollRequest(int seat) {
+            this.seat = seat;
+        }
+    }
+}
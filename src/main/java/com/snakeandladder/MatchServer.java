@@ -0,0 +1,125 @@
+package com.snakeandladder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Headless server hosting many independent matches at once. Every match runs its
+// own turn loop on its own thread (a virtual thread on Java 21+, see
+// VirtualThreads), so a match waiting on a slow player costs almost nothing and
+// there is no shared lock anywhere on the turn path. The only shared structure
+// is the id -> match registry.
+public class MatchServer implements AutoCloseable {
+
+    private final ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("match");
+    private final ConcurrentHashMap<Long, Match> matches = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicLong completed = new AtomicLong();
+    private final SplitMixDice seeds;
+
+    public MatchServer(long seed) {
+        this.seeds = DiceSource.seeded(seed);
+        GameMetrics.start();
+    }
+
+    // Starts a match where every seat is played by a remote player
+    public Match createMatch(BoardLayout layout, int playerCount) {
+        return createMatch(layout, new boolean[playerCount]);
+    }
+
+    // Starts a match; seats marked true in botSeats roll for themselves
+    public Match createMatch(BoardLayout layout, boolean[] botSeats) {
+        if (botSeats.length < 1 || botSeats.length > GameEventLog.MAX_SEATS) {
+            throw new IllegalArgumentException("Player count must be 1-" + GameEventLog.MAX_SEATS);
+        }
+        long id = nextId.getAndIncrement();
+        SplitMixDice dice;
+        synchronized (seeds) {
+            dice = seeds.split(); // Only touched while creating matches, never per turn
+        }
+        Match match = new Match(id, layout, botSeats.length, dice, botSeats.clone(), () -> {
+            matches.remove(id);
+            completed.incrementAndGet();
+        });
+        matches.put(id, match);
+        executor.execute(match);
+        return match;
+    }
+
+    // The match with this id, or null if it doesn't exist or has finished
+    public Match getMatch(long id) {
+        return matches.get(id);
+    }
+
+    public int getActiveMatches() {
+        return matches.size();
+    }
+
+    public long getCompletedMatches() {
+        return completed.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // Usage: MatchServer [matches] [players] [think time ms]
+    // Load test: every seat is a simulated remote player on its own thread that
+    // waits the think time, then sends a roll request and waits for the answer.
+    // Defaults to 100k matches with virtual threads, but only 1000 on platform
+    // threads, which need two real threads per match.
+    public static void main(String[] args) throws InterruptedException {
+        int defaultMatches = VirtualThreads.isAvailable() ? 100_000 : 1_000;
+        int matchCount = args.length > 0 ? Integer.parseInt(args[0]) : defaultMatches;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long thinkMillis = args.length > 2 ? Long.parseLong(args[2]) : 10;
+
+        if (!VirtualThreads.isAvailable()) {
+            System.err.println("Virtual threads need Java 21+, falling back to platform threads");
+        }
+
+        BoardLayout layout = BoardLayout.classic();
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong turns = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(matchCount);
+
+        long start = System.nanoTime();
+        ExecutorService clients = VirtualThreads.newThreadPerTaskExecutor("client");
+        try (MatchServer server = new MatchServer(System.nanoTime())) {
+            for (int m = 0; m < matchCount; m++) {
+                Match match = server.createMatch(layout, players);
+                clients.execute(() -> {
+                    try {
+                        int seat = 0;
+                        while (true) {
+                            Thread.sleep(thinkMillis);
+                            long sent = System.nanoTime();
+                            TurnOutcome outcome = match.roll(seat).join();
+                            latency.record(System.nanoTime() - sent);
+                            turns.incrementAndGet();
+                            if (outcome.isGameOver()) break;
+                            seat = outcome.getNextSeat();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            System.out.printf("%d matches started in %.2f s%n", matchCount, (System.nanoTime() - start) / 1e9);
+            done.await();
+        } finally {
+            clients.shutdown();
+            clients.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d turns in %.2f s (%.0f turns/s)%n", turns.get(), seconds, turns.get() / seconds);
+        System.out.printf("Turn latency: p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms%n",
+                latency.getPercentile(0.50) / 1e6, latency.getPercentile(0.99) / 1e6, latency.getPercentile(0.999) / 1e6);
+    }
+}
@@ -0,0 +1,190 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+// Batch mode: plays lots of headless games across every core and reports
+// game length, seat win rates and snake/ladder hit counts.
+//
+// Work is split by game range, and every split also splits the dice, so each
+// leaf gets its own generator and the results only depend on the seed, not on
+// how the pool happens to schedule the leaves.
+//
+// stream() is for runs too long to wait for: workers fold games into one
+// reused accumulator each, the running total is published every few seconds
+// and the caller can stop the run as soon as the numbers are precise enough.
+public class MonteCarloSimulator {
+
+    // Games played by one leaf task before it stops splitting
+    private static final long LEAF_GAMES = 1 << 14;
+
+    private final BoardLayout layout;
+    private final int playerCount;
+    private final int parallelism;
+
+    public MonteCarloSimulator(BoardLayout layout, int playerCount, int parallelism) {
+        if (playerCount < 2 || playerCount > 6) {
+            throw new IllegalArgumentException("Player count must be 2-6, got " + playerCount);
+        }
+        this.layout = layout;
+        this.playerCount = playerCount;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public SimulationResult run(long games, long seed) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new GamesTask(0, games, DiceSource.seeded(seed)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Plays up to maxGames in chunks of LEAF_GAMES, calling stopWhen with a
+    // snapshot of the running total every publishMillis. Returning true stops
+    // the run once the chunks already being played are done. Memory stays the
+    // same however long it runs: one accumulator per worker plus the total.
+    //
+    // Chunk n always gets the same dice, so a run that isn't stopped early
+    // depends only on the seed. Ones that are stopped include every chunk
+    // finished by then.
+    public SimulationResult stream(long maxGames, long seed, long publishMillis,
+                                   Predicate<SimulationResult> stopWhen) throws InterruptedException {
+        int finalSquare = layout.getFinalSquare();
+        SimulationResult total = new SimulationResult(playerCount, finalSquare);
+        AtomicLong nextChunk = new AtomicLong();
+        long chunks = (maxGames + LEAF_GAMES - 1) / LEAF_GAMES;
+        CountDownLatch done = new CountDownLatch(parallelism);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // Claiming past the end is how workers are told to stop early
+        Runnable stop = () -> nextChunk.set(chunks);
+
+        for (int i = 0; i < parallelism; i++) {
+            Thread t = new Thread(() -> {
+                SimulationResult local = new SimulationResult(playerCount, finalSquare);
+                try {
+                    long chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                        long games = Math.min(LEAF_GAMES, maxGames - chunk * LEAF_GAMES);
+                        playGames(games, SplitMixDice.forIndex(seed, chunk), local);
+                        synchronized (total) {
+                            total.merge(local);
+                        }
+                        local.reset();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                    stop.run();
+                } finally {
+                    done.countDown();
+                }
+            }, "simulation-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        while (!done.await(publishMillis, TimeUnit.MILLISECONDS)) {
+            SimulationResult snapshot;
+            synchronized (total) {
+                snapshot = total.copy();
+            }
+            if (stopWhen != null && stopWhen.test(snapshot)) {
+                stop.run();
+            }
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Simulation worker failed", failure.get());
+        }
+        return total;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private class GamesTask extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final SplitMixDice dice;
+
+        GamesTask(long from, long to, SplitMixDice dice) {
+            this.from = from;
+            this.to = to;
+            this.dice = dice;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= LEAF_GAMES) {
+                SimulationResult result = new SimulationResult(playerCount, layout.getFinalSquare());
+                playGames(to - from, dice, result);
+                return result;
+            }
+            long mid = (from + to) >>> 1;
+            GamesTask right = new GamesTask(mid, to, dice.split());
+            right.fork();
+            SimulationResult result = new GamesTask(from, mid, dice).compute();
+            result.merge(right.join());
+            return result;
+        }
+    }
+
+    private void playGames(long games, DiceSource dice, SimulationResult result) {
+        GameEngine engine = new GameEngine(layout);
+
+        for (long g = 0; g < games; g++) {
+            engine.start(playerCount);
+            while (engine.isGameRunning()) {
+                GameEngine.TurnResult turn = engine.playTurn(dice.roll());
+                if (turn == GameEngine.TurnResult.SNAKE) {
+                    result.recordSnake(engine.getLastLanding());
+                } else if (turn == GameEngine.TurnResult.LADDER) {
+                    result.recordLadder(engine.getLastLanding());
+                }
+            }
+            result.recordGame(engine.getTurnCount(), engine.getWinner());
+        }
+    }
+
+    // Usage: MonteCarloSimulator <games> <players> [threads] [seed] [layout file] [length error] [win rate error]
+    // Giving either error switches to a streaming run that prints progress every
+    // two seconds and stops once the 95% intervals are that tight. games = 0
+    // means no limit.
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        BoardLayout layout = args.length > 4 && !args[4].equals("-")
+                ? LayoutLoader.load(Path.of(args[4])) : BoardLayout.classic();
+        double lengthError = args.length > 5 ? Double.parseDouble(args[5]) : 0;
+        double winRateError = args.length > 6 ? Double.parseDouble(args[6]) : 0;
+
+        MonteCarloSimulator simulator = new MonteCarloSimulator(layout, players, threads);
+        long start = System.nanoTime();
+        SimulationResult result;
+        if (lengthError > 0 || winRateError > 0 || games == 0) {
+            result = simulator.stream(games > 0 ? games : Long.MAX_VALUE - LEAF_GAMES, seed, 2000, snapshot -> {
+                System.out.printf("%,d games, mean length %.4f +/- %.4f, p95 %d%n", snapshot.getGames(),
+                        snapshot.getMeanLength(), snapshot.getMeanLengthError(), snapshot.getLengthPercentile(0.95));
+                return snapshot.isPreciseTo(lengthError, winRateError);
+            });
+        } else {
+            result = simulator.run(games, seed);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(result.report());
+        System.out.printf("Seed %d, %d threads, %.2f s, %.1f M turns/s%n",
+                seed, simulator.getParallelism(), seconds, result.getTotalTurns() / seconds / 1e6);
+    }
+}
@@ -0,0 +1,231 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Precomputed answers to "from square k with roll r, where do I end up and how
+// many turns are left after that", for every square and roll of a layout, in
+// flat primitive arrays indexed by square * 6 + roll - 1. Same rules as
+// GameEngine, expected turns from MarkovSolver.
+//
+// The move tables are built straight away. The expected-turns tables need a
+// full solve, which is slow on huge boards, so they're only built the first
+// time something asks for them.
+//
+// Tables are built once per layout and cached. The cache holds layouts weakly,
+// so when a layout is replaced (LayoutLoader reloads a changed file into a new
+// BoardLayout) the old tables go away with it and the new layout gets fresh ones.
+public class MoveTable {
+
+    private static final int FACES = DiceSource.FACES;
+    private static final GameEngine.TurnResult[] RESULTS = GameEngine.TurnResult.values();
+
+    private static final Map<BoardLayout, MoveTable> cache = new WeakHashMap<>();
+
+    private final long layoutId;
+    private final int finalSquare;
+    private final MarkovSolver solver;
+    private final int[] landing;       // Square the roll lands on, before snakes and ladders
+    private final int[] destination;   // Where the player finishes the turn
+    private final byte[] result;        // TurnResult ordinal
+    private volatile double[] remaining;      // Expected turns left from each square
+    private volatile double[] remainingAfter; // Expected turns left after the move
+
+    private MoveTable(BoardLayout layout) {
+        layoutId = layout.getId();
+        finalSquare = layout.getFinalSquare();
+        int size = (finalSquare + 1) * FACES;
+        landing = new int[size];
+        destination = new int[size];
+        result = new byte[size];
+        solver = new MarkovSolver(layout);
+
+        for (int square = 1; square <= finalSquare; square++) {
+            for (int roll = 1; roll <= FACES; roll++) {
+                int i = square * FACES + roll - 1;
+                int target = square + roll;
+                GameEngine.TurnResult r;
+                int dest;
+                if (target > finalSquare) {
+                    landing[i] = square;
+                    dest = square;
+                    r = GameEngine.TurnResult.OVERSHOOT;
+                } else {
+                    landing[i] = target;
+                    dest = layout.getJump(target);
+                    r = dest < target ? GameEngine.TurnResult.SNAKE
+                            : dest > target ? GameEngine.TurnResult.LADDER
+                            : GameEngine.TurnResult.MOVED;
+                }
+                destination[i] = dest;
+                result[i] = (byte) r.ordinal();
+            }
+        }
+    }
+
+    // Builds the expected-turns tables on first use
+    private double[] remainingAfter() {
+        double[] after = remainingAfter;
+        if (after == null) {
+            synchronized (this) {
+                after = remainingAfter;
+                if (after == null) {
+                    double[] left = solver.expectedTurnsFrom();
+                    after = new double[destination.length];
+                    for (int i = FACES; i < after.length; i++) {
+                        after[i] = left[destination[i]];
+                    }
+                    remaining = left;
+                    remainingAfter = after;
+                }
+            }
+        }
+        return after;
+    }
+
+    private double[] remaining() {
+        remainingAfter();
+        return remaining;
+    }
+
+    // The (cached) table for a layout
+    public static MoveTable of(BoardLayout layout) {
+        synchronized (cache) {
+            MoveTable table = cache.get(layout);
+            if (table == null) {
+                table = new MoveTable(layout);
+                cache.put(layout, table);
+            }
+            return table;
+        }
+    }
+
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public long getLayoutId() {
+        return layoutId;
+    }
+
+    public int getFinalSquare() {
+        return finalSquare;
+    }
+
+    // Single lookups
+
+    public int getLanding(int square, int roll) {
+        return landing[index(square, roll)];
+    }
+
+    public int getDestination(int square, int roll) {
+        return destination[index(square, roll)];
+    }
+
+    public GameEngine.TurnResult getResult(int square, int roll) {
+        return RESULTS[result[index(square, roll)]];
+    }
+
+    public double getExpectedRemaining(int square) {
+        if (square < 1 || square > finalSquare) {
+            throw new IllegalArgumentException("Square " + square + " is off the board");
+        }
+        return remaining()[square];
+    }
+
+    public double getExpectedRemainingAfter(int square, int roll) {
+        return remainingAfter()[index(square, roll)];
+    }
+
+    // Bulk lookups: out[i] answers (squares[i], rolls[i]) for the first count
+    // pairs. Straight gathers from the tables, no per-query allocation.
+
+    public void destinations(int[] squares, int[] rolls, int[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = destination[index(squares[i], rolls[i])];
+        }
+    }
+
+    public void landings(int[] squares, int[] rolls, int[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = landing[index(squares[i], rolls[i])];
+        }
+    }
+
+    // TurnResult ordinals
+    public void results(int[] squares, int[] rolls, byte[] out, int count) {
+        for (int i = 0; i < count; i++) {
+            out[i] = result[index(squares[i], rolls[i])];
+        }
+    }
+
+    public void expectedRemainingAfter(int[] squares, int[] rolls, double[] out, int count) {
+        double[] table = remainingAfter();
+        for (int i = 0; i < count; i++) {
+            out[i] = table[index(squares[i], rolls[i])];
+        }
+    }
+
+    // Copies of the whole tables for callers who'd rather index them directly
+    // (square * 6 + roll - 1, expected remaining by square)
+
+    public int[] destinationTable() {
+        return destination.clone();
+    }
+
+    public double[] expectedRemainingTable() {
+        return remaining().clone();
+    }
+
+    private int index(int square, int roll) {
+        if (square < 1 || square > finalSquare || roll < 1 || roll > FACES) {
+            throw new IllegalArgumentException("No move from square " + square + " with roll " + roll);
+        }
+        return square * FACES + roll - 1;
+    }
+
+    // Usage: MoveTable [queries] [layout file]
+    // Prints the table for the first few squares, then times bulk queries.
+    public static void main(String[] args) throws IOException {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        BoardLayout layout = args.length > 1 ? LayoutLoader.load(Path.of(args[1])) : BoardLayout.classic();
+
+        long start = System.nanoTime();
+        MoveTable table = MoveTable.of(layout);
+        System.out.printf("Built move tables for %d squares in %.1f ms%n",
+                table.getFinalSquare(), (System.nanoTime() - start) / 1e6);
+        start = System.nanoTime();
+        table.getExpectedRemaining(1);
+        System.out.printf("Solved expected turns in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        for (int square = 1; square <= Math.min(5, table.getFinalSquare() - 1); square++) {
+            StringBuilder sb = new StringBuilder(String.format("%3d (%.1f left):", square, table.getExpectedRemaining(square)));
+            for (int roll = 1; roll <= FACES; roll++) {
+                sb.append(String.format("  %d->%d %.1f", roll, table.getDestination(square, roll),
+                        table.getExpectedRemainingAfter(square, roll)));
+            }
+            System.out.println(sb);
+        }
+
+        int[] squares = new int[queries];
+        int[] rolls = new int[queries];
+        SplitMixDice dice = DiceSource.seeded(42);
+        for (int i = 0; i < queries; i++) {
+            squares[i] = 1 + (int) Long.remainderUnsigned(dice.nextLong(), table.getFinalSquare());
+            rolls[i] = dice.roll();
+        }
+        int[] dest = new int[queries];
+        double[] left = new double[queries];
+        for (int round = 0; round < 5; round++) {
+            start = System.nanoTime();
+            table.destinations(squares, rolls, dest, queries);
+            table.expectedRemainingAfter(squares, rolls, left, queries);
+            double ms = (System.nanoTime() - start) / 1e6;
+            System.out.printf("%,d destination + expected-turns queries in %.1f ms%n", queries, ms);
+        }
+    }
+}
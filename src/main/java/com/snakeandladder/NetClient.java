@@ -0,0 +1,201 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+// Client side of NetServer's protocol for one game. It never applies rules,
+// it just mirrors what the server says: the full state from WELCOME and then
+// the changed seats from each UPDATE.
+//
+// Uses a blocking channel since a client only ever talks to one server; the
+// server is the side that has to be non-blocking.
+public class NetClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocate(NetProtocol.MAX_FRAME + 2);
+    private final ByteBuffer out = ByteBuffer.allocate(64);
+
+    private int gameId = -1;
+    private int seat = NetProtocol.SPECTATOR;
+    private int rows;
+    private int cols;
+    private int[] positions = new int[0];
+    private long turnCount;
+    private int currentSeat;
+    private int winner = -1;
+    private int lastRoll;
+    private String lastError;
+
+    public NetClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        in.flip();
+    }
+
+    // Joins (creating it if needed) a game, as a player or as a spectator
+    // when seat is -1. Blocks until the server's WELCOME arrives.
+    public void join(int game, int players, int seat) throws IOException {
+        out.clear();
+        NetProtocol.putJoin(out, game, players, seat < 0 ? NetProtocol.SPECTATOR : seat);
+        send();
+        while (gameId != game) {
+            if (readFrame() == NetProtocol.ERROR) {
+                throw new IOException(lastError);
+            }
+        }
+    }
+
+    // Asks the server to roll for our seat. The result comes back as an UPDATE.
+    public void roll() throws IOException {
+        if (seat == NetProtocol.SPECTATOR) {
+            throw new IllegalStateException("Spectators can't roll");
+        }
+        out.clear();
+        NetProtocol.putRoll(out, gameId, seat);
+        send();
+    }
+
+    // Reads frames until the game has reached at least the given turn count
+    public void awaitTurn(long turn) throws IOException {
+        while (turnCount < turn && winner == -1) {
+            if (readFrame() == NetProtocol.ERROR) {
+                throw new IOException(lastError);
+            }
+        }
+    }
+
+    private void send() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    // Blocks for one frame, applies it to the mirror and returns its type
+    public int readFrame() throws IOException {
+        int end;
+        while ((end = NetProtocol.completeFrameEnd(in)) == -1) {
+            in.compact();
+            if (channel.read(in) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+            in.flip();
+        }
+        in.position(in.position() + 2);
+        int type = in.get();
+        switch (type) {
+            case NetProtocol.WELCOME: {
+                int game = in.getInt();
+                int players = in.get() & 0xFF;
+                seat = in.get() & 0xFF;
+                rows = in.getShort() & 0xFFFF;
+                cols = in.getShort() & 0xFFFF;
+                positions = new int[players];
+                Arrays.fill(positions, 1);
+                readState();
+                gameId = game;
+                break;
+            }
+            case NetProtocol.UPDATE:
+                in.getInt();
+                readState();
+                break;
+            case NetProtocol.ERROR:
+                lastError = NetProtocol.getError(in);
+                break;
+            default:
+                throw new IOException("Unknown frame type " + type);
+        }
+        in.position(end);
+        return type;
+    }
+
+    private void readState() {
+        turnCount = in.getInt() & 0xFFFFFFFFL;
+        currentSeat = in.get() & 0xFF;
+        int w = in.get() & 0xFF;
+        winner = w == NetProtocol.NO_WINNER ? -1 : w;
+        lastRoll = in.get();
+        int entries = in.get() & 0xFF;
+        for (int i = 0; i < entries; i++) {
+            int s = in.get() & 0xFF;
+            positions[s] = in.getInt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public int getSeat() {
+        return seat == NetProtocol.SPECTATOR ? -1 : seat;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getPosition(int player) {
+        return positions[player];
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public int getWinner() {
+        return winner;
+    }
+
+    public long getTurnCount() {
+        return turnCount;
+    }
+
+    public int getLastRoll() {
+        return lastRoll;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    // Plays one game over loopback with a client per seat plus spectators.
+    // Throws if any client's mirror ends up different from the others.
+    // Returns the number of turns played.
+    static long playLoopbackGame(InetSocketAddress address, int gameId, int players, int spectators) throws IOException {
+        NetClient[] clients = new NetClient[players + spectators];
+        try {
+            for (int i = 0; i < clients.length; i++) {
+                clients[i] = new NetClient(address);
+                clients[i].join(gameId, players, i < players ? i : -1);
+            }
+            NetClient first = clients[0];
+            while (first.getWinner() == -1) {
+                long next = first.getTurnCount() + 1;
+                clients[first.getCurrentSeat()].roll();
+                for (NetClient c : clients) {
+                    c.awaitTurn(next);
+                }
+            }
+            for (NetClient c : clients) {
+                if (c.getWinner() != first.getWinner() || !Arrays.equals(c.positions, first.positions)) {
+                    throw new IOException("Client state diverged in game " + gameId);
+                }
+            }
+            return first.getTurnCount();
+        } finally {
+            for (NetClient c : clients) {
+                if (c != null) c.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.snakeandladder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Wire format shared by NetServer and NetClient. Every frame is
+//
+//   u16 length of the rest of the frame, u8 type, payload
+//
+// Client -> server
+//   JOIN     u32 game, u8 players (used if the game is new), u8 seat (0xFF = spectator)
+//   ROLL     u32 game, u8 seat
+//
+// Server -> client
+//   WELCOME  u32 game, u8 players, u8 your seat, u16 rows, u16 cols, then a full STATE body
+//   UPDATE   u32 game, then a STATE body with only the seats that moved since the last update
+//   ERROR    u16 message length, UTF-8 message
+//
+// STATE body: u32 turn count, u8 current seat, u8 winner (0xFF = none),
+//             u8 last roll, u8 entries, then (u8 seat, u32 position) per entry
+final class NetProtocol {
+
+    static final int JOIN = 1;
+    static final int ROLL = 2;
+    static final int WELCOME = 10;
+    static final int UPDATE = 11;
+    static final int ERROR = 12;
+
+    static final int SPECTATOR = 0xFF;
+    static final int NO_WINNER = 0xFF;
+    static final int MAX_FRAME = 0xFFFF;
+
+    private NetProtocol() {
+    }
+
+    // Reserves the length field and writes the type; finish with endFrame
+    static int beginFrame(ByteBuffer out, int type) {
+        int start = out.position();
+        out.putShort((short) 0);
+        out.put((byte) type);
+        return start;
+    }
+
+    static void endFrame(ByteBuffer out, int start) {
+        out.putShort(start, (short) (out.position() - start - 2));
+    }
+
+    static void putJoin(ByteBuffer out, int game, int players, int seat) {
+        int start = beginFrame(out, JOIN);
+        out.putInt(game).put((byte) players).put((byte) seat);
+        endFrame(out, start);
+    }
+
+    static void putRoll(ByteBuffer out, int game, int seat) {
+        int start = beginFrame(out, ROLL);
+        out.putInt(game).put((byte) seat);
+        endFrame(out, start);
+    }
+
+    // A ready-to-send ERROR frame sized to the message
+    static ByteBuffer error(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = ByteBuffer.allocate(5 + bytes.length);
+        int start = beginFrame(out, ERROR);
+        out.putShort((short) bytes.length).put(bytes);
+        endFrame(out, start);
+        return out.flip();
+    }
+
+    static String getError(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Payload size of a client -> server frame type, or -1 if clients can't send it
+    static int requestPayload(int type) {
+        switch (type) {
+            case JOIN:
+                return 6;
+            case ROLL:
+                return 5;
+            default:
+                return -1;
+        }
+    }
+
+    // Index of the end of the first complete frame in [position, limit), or -1
+    static int completeFrameEnd(ByteBuffer in) {
+        if (in.remaining() < 2) return -1;
+        int end = in.position() + 2 + (in.getShort(in.position()) & 0xFFFF);
+        return end <= in.limit() ? end : -1;
+    }
+}
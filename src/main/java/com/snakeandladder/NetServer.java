@@ -0,0 +1,375 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Networked multiplayer over non-blocking NIO. Clients send roll intents, the
+// server plays them through GameEngine (so the rules are exactly the UI's) and
+// sends back state updates. Everything runs on one selector thread:
+//
+//   1. read every ready socket and apply all complete ROLL/JOIN frames
+//   2. for every game that changed, encode ONE update holding only the seats
+//      whose position changed, and queue a read-only view of that same buffer
+//      to every player and spectator
+//   3. write as much as each socket will take, the rest waits for OP_WRITE
+//
+// So many rolls arriving together turn into one update, and a game with
+// thousands of spectators still encodes each update once.
+public class NetServer implements Runnable, AutoCloseable {
+
+    private static final int READ_BUFFER = 4096;
+    // Frames queued for a client that isn't reading. Past this it gets dropped
+    // rather than holding on to every update forever.
+    static final int MAX_BACKLOG = 4096;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final BoardLayout layout;
+    private final SplitMixDice seeds;
+    private final Map<Integer, NetGame> games = new HashMap<>();
+    private final List<NetGame> dirtyGames = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public NetServer(InetSocketAddress address, BoardLayout layout, long seed) throws IOException {
+        this.layout = layout;
+        this.seeds = DiceSource.seeded(seed);
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (!key.isValid()) continue;
+                        if (key.isAcceptable()) accept();
+                        if (key.isValid() && key.isReadable()) read((Connection) key.attachment());
+                        if (key.isValid() && key.isWritable()) write((Connection) key.attachment());
+                    } catch (IOException e) {
+                        disconnect((Connection) key.attachment());
+                    } catch (RuntimeException e) {
+                        // A bug or a frame we failed to validate; only this client pays for it
+                        System.err.println("Dropping client: " + e);
+                        disconnect((Connection) key.attachment());
+                    }
+                }
+                publishUpdates();
+            }
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Net server stopped: " + e.getMessage());
+            }
+        } catch (ClosedSelectorException e) {
+            // close() got in while we were between selects
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        serverChannel.close();
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.setOption(java.net.StandardSocketOptions.TCP_NODELAY, true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    private void read(Connection c) throws IOException {
+        if (c == null) return;
+        if (c.channel.read(c.in) < 0) {
+            disconnect(c);
+            return;
+        }
+        c.in.flip();
+        int end;
+        while ((end = NetProtocol.completeFrameEnd(c.in)) != -1) {
+            int next = end;
+            int length = end - c.in.position() - 2;
+            if (length < 1) {
+                throw new IOException("Empty frame");
+            }
+            c.in.position(c.in.position() + 2);
+            int type = c.in.get();
+            int payload = NetProtocol.requestPayload(type);
+            if (payload == -1) {
+                sendError(c, "Unknown frame type " + type);
+                c.in.position(next);
+                continue;
+            }
+            if (length - 1 != payload) {
+                sendError(c, "Frame type " + type + " needs " + payload + " bytes, got " + (length - 1));
+                c.in.position(next);
+                continue;
+            }
+            switch (type) {
+                case NetProtocol.JOIN:
+                    handleJoin(c, c.in.getInt(), c.in.get() & 0xFF, c.in.get() & 0xFF);
+                    break;
+                case NetProtocol.ROLL:
+                    handleRoll(c, c.in.getInt(), c.in.get() & 0xFF);
+                    break;
+            }
+            c.in.position(next);
+        }
+        c.in.compact();
+        if (!c.in.hasRemaining()) {
+            throw new IOException("Frame too large");
+        }
+    }
+
+    private void handleJoin(Connection c, int gameId, int players, int seat) throws IOException {
+        NetGame game = games.get(gameId);
+        if (game == null) {
+            if (players < 1 || players > GameEventLog.MAX_SEATS) {
+                sendError(c, "Bad player count " + players);
+                return;
+            }
+            game = new NetGame(gameId, players);
+            games.put(gameId, game);
+        }
+        if (seat != NetProtocol.SPECTATOR) {
+            if (seat >= game.seatOwners.length || game.seatOwners[seat] != null) {
+                sendError(c, "Seat " + seat + " is not available");
+                return;
+            }
+            game.seatOwners[seat] = c;
+        }
+        game.subscribers.add(c);
+        c.games.add(game);
+
+        // Newcomers get the full state once, after that only deltas
+        ByteBuffer out = ByteBuffer.allocate(64 + 5 * game.engine.getPlayerCount());
+        int start = NetProtocol.beginFrame(out, NetProtocol.WELCOME);
+        out.putInt(gameId).put((byte) game.engine.getPlayerCount()).put((byte) seat);
+        out.putShort((short) layout.getRows()).putShort((short) layout.getCols());
+        game.putState(out, null);
+        NetProtocol.endFrame(out, start);
+        out.flip();
+        enqueue(c, out);
+    }
+
+    private void handleRoll(Connection c, int gameId, int seat) throws IOException {
+        NetGame game = games.get(gameId);
+        if (game == null) {
+            sendError(c, "No game " + gameId);
+            return;
+        }
+        if (seat >= game.seatOwners.length || game.seatOwners[seat] != c) {
+            sendError(c, "You don't hold seat " + seat);
+            return;
+        }
+        if (!game.engine.isGameRunning() || game.engine.getCurrentPlayerIndex() != seat) {
+            sendError(c, "Not seat " + seat + "'s turn");
+            return;
+        }
+        game.engine.playTurn(game.dice.roll());
+        if (!game.dirty) {
+            game.dirty = true;
+            dirtyGames.add(game);
+        }
+    }
+
+    // Step 2: one encoded update per changed game, shared by all its subscribers
+    private void publishUpdates() {
+        for (NetGame game : dirtyGames) {
+            game.dirty = false;
+            ByteBuffer out = ByteBuffer.allocate(64 + 5 * game.engine.getPlayerCount());
+            int start = NetProtocol.beginFrame(out, NetProtocol.UPDATE);
+            out.putInt(game.id);
+            game.putState(out, game.sentPositions);
+            NetProtocol.endFrame(out, start);
+            out.flip();
+            ByteBuffer shared = out.asReadOnlyBuffer();
+            // Backwards, since a subscriber that fails is removed on the spot
+            for (int i = game.subscribers.size() - 1; i >= 0; i--) {
+                if (i >= game.subscribers.size()) continue;
+                Connection c = game.subscribers.get(i);
+                try {
+                    enqueue(c, shared.duplicate());
+                } catch (IOException | RuntimeException e) {
+                    disconnect(c);
+                }
+            }
+        }
+        dirtyGames.clear();
+    }
+
+    private void sendError(Connection c, String message) throws IOException {
+        enqueue(c, NetProtocol.error(message));
+    }
+
+    private void enqueue(Connection c, ByteBuffer frame) throws IOException {
+        if (!c.channel.isOpen()) return;
+        if (c.out.size() >= MAX_BACKLOG) {
+            throw new IOException("Client fell " + MAX_BACKLOG + " frames behind");
+        }
+        c.out.add(frame);
+        write(c);
+    }
+
+    private void write(Connection c) throws IOException {
+        if (c == null) return;
+        while (!c.out.isEmpty()) {
+            ByteBuffer head = c.out.peek();
+            c.channel.write(head);
+            if (head.hasRemaining()) {
+                // Socket is full, wait until the selector says we can write again
+                c.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            c.out.poll();
+        }
+        c.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void disconnect(Connection c) {
+        if (c == null) return;
+        for (NetGame game : c.games) {
+            game.subscribers.removeIf(s -> s == c);
+            for (int i = 0; i < game.seatOwners.length; i++) {
+                if (game.seatOwners[i] == c) game.seatOwners[i] = null;
+            }
+            if (game.subscribers.isEmpty()) {
+                games.remove(game.id);
+            }
+        }
+        c.games.clear();
+        c.out.clear();
+        try {
+            c.channel.close();
+        } catch (IOException ignored) {
+            // Already gone
+        }
+    }
+
+    private static class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER);
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        final List<NetGame> games = new ArrayList<>(1);
+        SelectionKey key;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private class NetGame {
+        final int id;
+        final GameEngine engine = new GameEngine(layout);
+        final DiceSource dice = seeds.split();
+        final Connection[] seatOwners;
+        final List<Connection> subscribers = new ArrayList<>();
+        final int[] sentPositions;
+        boolean dirty;
+
+        NetGame(int id, int players) {
+            this.id = id;
+            engine.start(players);
+            seatOwners = new Connection[players];
+            sentPositions = new int[players];
+            java.util.Arrays.fill(sentPositions, 1);
+        }
+
+        // STATE body. With a previous-positions array only changed seats are
+        // written (and the array is brought up to date); without one, all seats.
+        void putState(ByteBuffer out, int[] previous) {
+            int winner = engine.getWinner();
+            out.putInt((int) engine.getTurnCount());
+            out.put((byte) engine.getCurrentPlayerIndex());
+            out.put((byte) (winner == -1 ? NetProtocol.NO_WINNER : winner));
+            out.put((byte) (engine.getLastPlayer() == -1 ? 0 : engine.getLastRoll()));
+            int countAt = out.position();
+            out.put((byte) 0);
+            int count = 0;
+            for (int seat = 0; seat < engine.getPlayerCount(); seat++) {
+                int pos = engine.getPosition(seat);
+                if (previous != null) {
+                    if (previous[seat] == pos) continue;
+                    previous[seat] = pos;
+                }
+                out.put((byte) seat).putInt(pos);
+                count++;
+            }
+            out.put(countAt, (byte) count);
+        }
+    }
+
+    // Usage: NetServer [games] [players] [spectators per game]
+    // Loopback test: starts a server, connects a client per seat plus spectators,
+    // plays every game to the end and checks spectators saw the same result.
+    public static void main(String[] args) throws Exception {
+        int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int spectators = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        try (NetServer server = new NetServer(loopback, BoardLayout.classic(), System.nanoTime())) {
+            Thread serverThread = new Thread(server, "net-server");
+            serverThread.start();
+            InetSocketAddress address = server.getAddress();
+
+            long start = System.nanoTime();
+            List<Thread> threads = new ArrayList<>();
+            long[] turns = new long[gameCount];
+            int[] mismatches = new int[1];
+            for (int g = 0; g < gameCount; g++) {
+                int gameId = g;
+                threads.add(new Thread(() -> {
+                    try {
+                        turns[gameId] = NetClient.playLoopbackGame(address, gameId, players, spectators);
+                    } catch (Exception e) {
+                        synchronized (mismatches) {
+                            mismatches[0]++;
+                        }
+                        System.err.println("Game " + gameId + " failed: " + e);
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread t : threads) t.join();
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long total = 0;
+            for (long t : turns) total += t;
+            System.out.printf("%d games, %d turns, %d spectators each, %.2f s (%.0f turns/s), %d failures%n",
+                    gameCount, total, spectators, seconds, total / seconds, mismatches[0]);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.snakeandladder;
 
+import javafx.animation.Animation;
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
 import javafx.animation.TranslateTransition;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -11,6 +14,11 @@ public class Player {
     private int currentPosition; // 1-100
     private Circle token;
     private Color color;
+    private PlayerStrategy strategy; // null for a human at the ROLL button
+    
+    // Step-by-step walks reuse one transition, see animateWalk
+    private static final Duration STEP_TIME = Duration.millis(150);
+    private final PathWalk walk = new PathWalk();
 
     public Player(String name, int id, Color color) {
         this.name = name;
@@ -35,6 +43,11 @@ public class Player {
         this.currentPosition = position;
     }
     
+    // 0-based seat, same index the engine uses
+    public int getSeat() {
+        return id - 1;
+    }
+    
     public String getName() {
         return name;
     }
@@ -43,9 +56,31 @@ public class Player {
         return color;
     }
 
+    public PlayerStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(PlayerStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public boolean isBot() {
+        return strategy != null;
+    }
+
     // Move animation to a specific X, Y coordinate
     public void animateMove(double x, double y, Runnable onFinished) {
-        TranslateTransition tt = new TranslateTransition(Duration.millis(300), token);
+        animateMove(x, y, GameSpeed.NORMAL, onFinished);
+    }
+
+    public void animateMove(double x, double y, GameSpeed speed, Runnable onFinished) {
+        if (speed.isInstant()) {
+            placeAt(x, y);
+            if (onFinished != null) onFinished.run();
+            return;
+        }
+
+        TranslateTransition tt = new TranslateTransition(speed.scale(Duration.millis(300)), token);
         // We need to set 'To' positions relative to the token's Parent (Group)
         // However, TranslateTransition works on translation delta or absolutes if node is at 0,0
         // It's safer if the token is managed by the Board or Controller which sets layoutX/Y.
@@ -53,12 +88,68 @@ public class Player {
         
         tt.setToX(x);
         tt.setToY(y);
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
         tt.setOnFinished(e -> {
+            if (GameMetrics.ENABLED) GameMetrics.get().moveAnimationFinished(System.nanoTime() - start);
             if (onFinished != null) onFinished.run();
         });
+        if (GameMetrics.ENABLED) GameMetrics.get().transitionStarted();
         tt.play();
     }
     
+    // Walks the token square by square along a path of x, y pairs (from
+    // Board.walkPath). One transition plays the whole walk and works out the
+    // position from the elapsed fraction, so each frame costs the same however
+    // many squares are walked.
+    public void animateWalk(double[] path, GameSpeed speed, Runnable onFinished) {
+        int last = path.length - 2;
+        if (speed.isInstant() || path.length < 4) {
+            placeAt(path[last], path[last + 1]);
+            if (onFinished != null) onFinished.run();
+            return;
+        }
+        
+        if (walk.getStatus() != Animation.Status.STOPPED) {
+            // Cut short by a new walk, its onFinished won't run now
+            walk.stop();
+            if (GameMetrics.ENABLED) GameMetrics.get().transitionStopped();
+        }
+        walk.setPath(path, speed.scale(STEP_TIME.multiply(path.length / 2 - 1)));
+        long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
+        walk.setOnFinished(e -> {
+            if (GameMetrics.ENABLED) GameMetrics.get().moveAnimationFinished(System.nanoTime() - start);
+            if (onFinished != null) onFinished.run();
+        });
+        if (GameMetrics.ENABLED) GameMetrics.get().transitionStarted();
+        walk.playFromStart();
+    }
+    
+    private class PathWalk extends Transition {
+        private double[] path;
+        
+        PathWalk() {
+            setInterpolator(Interpolator.LINEAR);
+        }
+        
+        void setPath(double[] path, Duration duration) {
+            this.path = path;
+            setCycleDuration(duration);
+        }
+        
+        @Override
+        protected void interpolate(double frac) {
+            int steps = path.length / 2 - 1;
+            double pos = frac * steps;
+            int i = Math.min((int) pos, steps - 1);
+            double t = pos - i;
+            // Ease within each step so the token hops square to square
+            t = t * t * (3 - 2 * t);
+            int x = 2 * i;
+            token.setTranslateX(path[x] + (path[x + 2] - path[x]) * t);
+            token.setTranslateY(path[x + 1] + (path[x + 3] - path[x + 1]) * t);
+        }
+    }
+    
     // Immediate placement without animation (for setup/resize)
     public void placeAt(double x, double y) {
         token.setTranslateX(x);
@@ -0,0 +1,14 @@
+package com.snakeandladder;
+
+// Decision maker for a bot seat. The classic rules leave nothing to decide, so
+// this only comes into play with rule variants that offer a choice, like
+// RuleVariant.TWO_DICE where the player picks which of two rolls to move by.
+public interface PlayerStrategy {
+
+    // Returns the roll to move by, either rollA or rollB. The engine is on the
+    // bot's turn; the dice are there for strategies that need randomness so
+    // games stay reproducible from their seed.
+    int choose(GameEngine engine, int rollA, int rollB, DiceSource dice);
+
+    String getName();
+}
@@ -0,0 +1,40 @@
+package com.snakeandladder;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Dice backed by any java.util.random algorithm, e.g. "Xoroshiro128PlusPlus" or
+// "L64X128MixRandom", for when a different generator is wanted than SplitMix.
+public class RandomGeneratorDice implements DiceSource {
+
+    private final RandomGenerator generator;
+
+    public RandomGeneratorDice(RandomGenerator generator) {
+        this.generator = generator;
+    }
+
+    // Seeded generator of the named algorithm
+    public static RandomGeneratorDice of(String algorithm, long seed) {
+        return new RandomGeneratorDice(RandomGeneratorFactory.of(algorithm).create(seed));
+    }
+
+    @Override
+    public int roll() {
+        return generator.nextInt(FACES) + 1;
+    }
+
+    // Independent stream for another thread, if the algorithm supports splitting
+    public RandomGeneratorDice split() {
+        if (generator instanceof RandomGenerator.SplittableGenerator) {
+            return new RandomGeneratorDice(((RandomGenerator.SplittableGenerator) generator).split());
+        }
+        if (generator instanceof RandomGenerator.JumpableGenerator) {
+            return new RandomGeneratorDice(((RandomGenerator.JumpableGenerator) generator).copyAndJump());
+        }
+        throw new UnsupportedOperationException(generator.getClass().getSimpleName() + " can't be split");
+    }
+
+    public RandomGenerator getGenerator() {
+        return generator;
+    }
+}
@@ -0,0 +1,42 @@
+package com.snakeandladder;
+
+// Optional house rules. CLASSIC is the game as it has always been; TWO_DICE
+// rolls two dice every turn and the player moves by the one they pick, which
+// gives bots (and people) an actual decision to make.
+public enum RuleVariant {
+    CLASSIC("classic"),
+    TWO_DICE("two-dice");
+
+    private final String label;
+
+    RuleVariant(String label) {
+        this.label = label;
+    }
+
+    public boolean hasChoice() {
+        return this == TWO_DICE;
+    }
+
+    // Rolls for the current player and returns the value they move by
+    public int nextRoll(GameEngine engine, DiceSource dice, PlayerStrategy strategy) {
+        int roll = dice.roll();
+        if (!hasChoice()) {
+            return roll;
+        }
+        return strategy.choose(engine, roll, dice.roll(), dice);
+    }
+
+    public static RuleVariant byName(String name) {
+        for (RuleVariant v : values()) {
+            if (v.label.equalsIgnoreCase(name) || v.name().equalsIgnoreCase(name)) {
+                return v;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rule variant '" + name + "', expected classic or two-dice");
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,44 @@
+package com.snakeandladder;
+
+// Plain-loop LockstepKernel, used when the Vector API isn't available. Same
+// arithmetic lane by lane as VectorLockstepKernel, so both give the same games.
+class ScalarLockstepKernel implements LockstepKernel {
+
+    private final int[] jumps;
+    private final int finalSquare;
+
+    ScalarLockstepKernel(BoardLayout layout) {
+        this.jumps = layout.getJumpTable();
+        this.finalSquare = layout.getFinalSquare();
+    }
+
+    @Override
+    public int move(int[] positions, boolean[] active, int[] oldest, int[] newest, int[] finished) {
+        int count = 0;
+        for (int i = 0; i < positions.length; i++) {
+            // xorshift128 step, every lane advances whether it's playing or not
+            int t = oldest[i] ^ (oldest[i] << 11);
+            int w = newest[i];
+            w = w ^ (w >>> 19) ^ t ^ (t >>> 8);
+            oldest[i] = w;
+
+            if (!active[i]) continue;
+            int roll = (((w >>> 8) * DiceSource.FACES) >>> 24) + 1;
+            int pos = positions[i];
+            int target = pos + roll;
+            // Need exact roll to win, otherwise follow any snake or ladder
+            int dest = target > finalSquare ? pos : jumps[target];
+            positions[i] = dest;
+            if (dest == finalSquare) {
+                active[i] = false;
+                finished[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,35 @@
+package com.snakeandladder;
+
+import java.util.Arrays;
+
+// Plays back a fixed sequence of rolls, for replays and reproducing bug reports
+public class ScriptedDice implements DiceSource {
+
+    private final int[] rolls;
+    private int next;
+
+    public ScriptedDice(int... rolls) {
+        for (int r : rolls) {
+            if (r < 1 || r > FACES) {
+                throw new IllegalArgumentException("Roll out of range: " + r);
+            }
+        }
+        this.rolls = Arrays.copyOf(rolls, rolls.length);
+    }
+
+    @Override
+    public int roll() {
+        if (next >= rolls.length) {
+            throw new IllegalStateException("Script ran out after " + rolls.length + " rolls");
+        }
+        return rolls[next++];
+    }
+
+    public boolean hasNext() {
+        return next < rolls.length;
+    }
+
+    public int remaining() {
+        return rolls.length - next;
+    }
+}
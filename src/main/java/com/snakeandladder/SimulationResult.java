@@ -0,0 +1,203 @@
+package com.snakeandladder;
+
+import java.util.Arrays;
+
+// Aggregated numbers from a batch of simulated games. Each fork/join leaf fills
+// its own instance and they are merged on the way back up, so nothing is shared
+// between threads while games are being played.
+//
+// Everything in here is a count, so it merges exactly and its size only
+// depends on the board and the longest game seen, never on how many games were
+// played. The length histogram doubles as the quantile sketch: game lengths
+// are small integers, so exact counts are cheaper than an approximate sketch.
+public class SimulationResult {
+
+    // Two-sided 95% normal quantile, for the error estimates
+    private static final double Z_95 = 1.959964;
+
+    private final int playerCount;
+    private long games;
+    private long totalTurns;
+    private long[] lengthCounts = new long[256]; // index = turns the game took
+    private final long[] winsBySeat;
+    private final long[] snakeHits;  // index = snake head square
+    private final long[] ladderHits; // index = ladder bottom square
+
+    public SimulationResult(int playerCount, int finalSquare) {
+        this.playerCount = playerCount;
+        this.winsBySeat = new long[playerCount];
+        this.snakeHits = new long[finalSquare + 1];
+        this.ladderHits = new long[finalSquare + 1];
+    }
+
+    // Independent copy, for publishing a snapshot while the original keeps growing
+    SimulationResult copy() {
+        SimulationResult copy = new SimulationResult(playerCount, snakeHits.length - 1);
+        copy.merge(this);
+        return copy;
+    }
+
+    // Back to zero games, keeping the arrays so a worker can reuse it
+    void reset() {
+        Arrays.fill(lengthCounts, 0);
+        Arrays.fill(winsBySeat, 0);
+        Arrays.fill(snakeHits, 0);
+        Arrays.fill(ladderHits, 0);
+        games = 0;
+        totalTurns = 0;
+    }
+
+    void recordGame(long turns, int winner) {
+        int t = (int) turns;
+        if (t >= lengthCounts.length) {
+            lengthCounts = Arrays.copyOf(lengthCounts, Math.max(t + 1, lengthCounts.length * 2));
+        }
+        lengthCounts[t]++;
+        totalTurns += turns;
+        winsBySeat[winner]++;
+        games++;
+    }
+
+    void recordSnake(int head) {
+        snakeHits[head]++;
+    }
+
+    void recordLadder(int bottom) {
+        ladderHits[bottom]++;
+    }
+
+    // Folds another partial result into this one
+    void merge(SimulationResult other) {
+        if (other.lengthCounts.length > lengthCounts.length) {
+            lengthCounts = Arrays.copyOf(lengthCounts, other.lengthCounts.length);
+        }
+        for (int i = 0; i < other.lengthCounts.length; i++) {
+            lengthCounts[i] += other.lengthCounts[i];
+        }
+        for (int i = 0; i < winsBySeat.length; i++) {
+            winsBySeat[i] += other.winsBySeat[i];
+        }
+        for (int i = 0; i < snakeHits.length; i++) {
+            snakeHits[i] += other.snakeHits[i];
+            ladderHits[i] += other.ladderHits[i];
+        }
+        games += other.games;
+        totalTurns += other.totalTurns;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    // Mean game length in turns (one turn = one roll by one player)
+    public double getMeanLength() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+
+    // Sample standard deviation of the game length, from the histogram
+    public double getLengthStdDev() {
+        if (games < 2) {
+            return 0;
+        }
+        double mean = getMeanLength();
+        double sum = 0;
+        for (int t = 0; t < lengthCounts.length; t++) {
+            if (lengthCounts[t] == 0) continue;
+            double d = t - mean;
+            sum += d * d * lengthCounts[t];
+        }
+        return Math.sqrt(sum / (games - 1));
+    }
+
+    // Half-width of the 95% confidence interval on the mean length
+    public double getMeanLengthError() {
+        return games == 0 ? Double.POSITIVE_INFINITY : Z_95 * getLengthStdDev() / Math.sqrt(games);
+    }
+
+    // Smallest game length such that at least the given fraction of games were
+    // that short. 0 when there are no games yet, like getMeanLength.
+    public int getLengthPercentile(double fraction) {
+        if (games == 0) {
+            return 0;
+        }
+        long needed = (long) Math.ceil(fraction * games);
+        long seen = 0;
+        for (int t = 0; t < lengthCounts.length; t++) {
+            seen += lengthCounts[t];
+            if (seen >= needed && seen > 0) {
+                return t;
+            }
+        }
+        return lengthCounts.length - 1;
+    }
+
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) winsBySeat[seat] / games;
+    }
+
+    // Half-width of the 95% confidence interval on a seat's win rate
+    public double getWinRateError(int seat) {
+        if (games == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double p = getWinRate(seat);
+        return Z_95 * Math.sqrt(p * (1 - p) / games);
+    }
+
+    // True once the mean length and every seat's win rate are known to within
+    // the given 95% half-widths. A non-positive limit is ignored.
+    public boolean isPreciseTo(double lengthError, double winRateError) {
+        if (games < 2) {
+            return false;
+        }
+        if (lengthError > 0 && getMeanLengthError() > lengthError) {
+            return false;
+        }
+        if (winRateError > 0) {
+            for (int i = 0; i < playerCount; i++) {
+                if (getWinRateError(i) > winRateError) return false;
+            }
+        }
+        return lengthError > 0 || winRateError > 0;
+    }
+
+    public long getSnakeHits(int head) {
+        return snakeHits[head];
+    }
+
+    public long getLadderHits(int bottom) {
+        return ladderHits[bottom];
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d, players: %d%n", games, playerCount));
+        sb.append(String.format("Game length (turns): mean %.3f +/- %.3f, sd %.3f, p50 %d, p90 %d, p95 %d, p99 %d%n",
+                getMeanLength(), getMeanLengthError(), getLengthStdDev(), getLengthPercentile(0.50), getLengthPercentile(0.90),
+                getLengthPercentile(0.95), getLengthPercentile(0.99)));
+        sb.append("Win rate by seat:");
+        for (int i = 0; i < playerCount; i++) {
+            sb.append(String.format(" P%d=%.4f+/-%.4f", i + 1, getWinRate(i), getWinRateError(i)));
+        }
+        sb.append(System.lineSeparator());
+        sb.append("Snake hits:");
+        for (int i = 0; i < snakeHits.length; i++) {
+            if (snakeHits[i] > 0) sb.append(' ').append(i).append('=').append(snakeHits[i]);
+        }
+        sb.append(System.lineSeparator());
+        sb.append("Ladder hits:");
+        for (int i = 0; i < ladderHits.length; i++) {
+            if (ladderHits[i] > 0) sb.append(' ').append(i).append('=').append(ladderHits[i]);
+        }
+        sb.append(System.lineSeparator());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.snakeandladder;
+
+// SplitMix64 dice: the same generator SplittableRandom uses, but with its state
+// exposed so a game (or a whole simulation) can be reproduced from one seed and
+// a running game's RNG can be saved and restored.
+//
+// Not thread safe. Give every thread its own instance via split().
+public class SplitMixDice implements DiceSource {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+    private long gamma;
+
+    public SplitMixDice(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    // Recreates a generator from getState() and getGamma()
+    public SplitMixDice(long state, long gamma) {
+        this.seed = state;
+        this.gamma = gamma | 1L; // Gamma must be odd
+    }
+
+    @Override
+    public int roll() {
+        // Multiply-shift maps the top 32 bits onto 0..5 without a division
+        return (int) (((nextLong() >>> 32) * FACES) >>> 32) + 1;
+    }
+
+    public long nextLong() {
+        return mix64(seed += gamma);
+    }
+
+    // Independent generator for another thread or task. Deterministic, so a
+    // fixed split pattern gives the same streams every run.
+    public SplitMixDice split() {
+        return new SplitMixDice(nextLong(), mixGamma(nextLong()));
+    }
+
+    // Generator number index in a family derived from one seed. Unlike split()
+    // this doesn't depend on call order, so workers can claim chunks of work in
+    // any order and chunk n still always gets the same dice.
+    public static SplitMixDice forIndex(long seed, long index) {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        return new SplitMixDice(mix64(z), mixGamma(z + GOLDEN_GAMMA));
+    }
+
+    // Rewinds or fast-forwards to a saved state without creating a new generator
+    public void setState(long state, long gamma) {
+        this.seed = state;
+        this.gamma = gamma | 1L;
+    }
+
+    public long getState() {
+        return seed;
+    }
+
+    public long getGamma() {
+        return gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
@@ -0,0 +1,38 @@
+package com.snakeandladder;
+
+import java.time.Instant;
+
+// Cold-start timings for the game: how long after the JVM started we got to
+// each phase (FX toolkit up, setup prompt, board built, window shown, first
+// frame). Printed as one line so a slower start shows up straight away.
+//
+// Off unless started with -Dsnakeandladder.startup=true, or with
+// -Dsnakeandladder.startup.exit=true which also quits after the first frame.
+// That's what the class-data-sharing training run in the pom uses.
+public final class StartupTimer {
+
+    public static final boolean EXIT_AFTER_FIRST_FRAME = Boolean.getBoolean("snakeandladder.startup.exit");
+    public static final boolean ENABLED = EXIT_AFTER_FIRST_FRAME || Boolean.getBoolean("snakeandladder.startup");
+
+    // Only looked up when enabled, it isn't free
+    private static final long JVM_START = ENABLED
+            ? ProcessHandle.current().info().startInstant().map(Instant::toEpochMilli).orElse(System.currentTimeMillis())
+            : 0;
+
+    private static final StringBuilder phases = new StringBuilder();
+
+    private StartupTimer() {
+    }
+
+    // Records that a phase is done. Callable from any thread.
+    public static synchronized void mark(String phase) {
+        if (!ENABLED) return;
+        if (phases.length() > 0) phases.append(", ");
+        phases.append(phase).append(' ').append(System.currentTimeMillis() - JVM_START).append(" ms");
+    }
+
+    public static synchronized void report() {
+        if (!ENABLED) return;
+        System.out.println("Startup (since JVM start): " + phases);
+    }
+}
@@ -7,8 +7,16 @@ import javafx.scene.text.Text;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
+import java.util.Arrays;
+
 public class Tile extends StackPane {
     
+    // Number fonts shared by every tile, indexed by size in half points. All
+    // tiles are the same size, so a resize needs one lookup and no new Font
+    // per tile. Tiles are built on the board-builder thread as well as the FX
+    // thread, so numberFont is synchronized.
+    private static Font[] numberFonts = new Font[0];
+    
     private Rectangle border;
     private Text text;
     private int number;
@@ -23,7 +31,7 @@ public class Tile extends StackPane {
         border.setStroke(Color.BLACK);
 
         text = new Text(String.valueOf(number));
-        text.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        text.setFont(numberFont(14));
 
         getChildren().addAll(border, text);
         
@@ -33,6 +41,20 @@ public class Tile extends StackPane {
     public void updateSize(double newSize) {
         border.setWidth(newSize);
         border.setHeight(newSize);
-        text.setFont(Font.font("Arial", FontWeight.BOLD, newSize * 0.3));
+        text.setFont(numberFont(newSize * 0.3));
+    }
+    
+    // Bold Arial at the given size, rounded to half a point
+    static synchronized Font numberFont(double size) {
+        int key = Math.max(1, (int) Math.round(size * 2));
+        if (key >= numberFonts.length) {
+            numberFonts = Arrays.copyOf(numberFonts, Math.max(key + 1, numberFonts.length * 2));
+        }
+        Font font = numberFonts[key];
+        if (font == null) {
+            font = Font.font("Arial", FontWeight.BOLD, key / 2.0);
+            numberFonts[key] = font;
+        }
+        return font;
     }
 }
@@ -0,0 +1,76 @@
+package com.snakeandladder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+// Which tokens share a square, so they can be fanned out instead of drawn on
+// top of each other. Each seat knows its square and its slot on that square;
+// leaving a square moves the square's last token into the freed slot, so
+// every update is constant time however many players there are.
+class TokenStacks {
+
+    private final int[] squareOf;
+    private final int[] slotOf;
+    // Only occupied squares have an entry, so huge boards cost nothing extra
+    private final HashMap<Integer, int[]> seatsOn = new HashMap<>(); // [count, seat0, seat1, ...]
+
+    TokenStacks(int seats) {
+        squareOf = new int[seats];
+        slotOf = new int[seats];
+    }
+
+    int getSquare(int seat) {
+        return squareOf[seat];
+    }
+
+    int getSlot(int seat) {
+        return slotOf[seat];
+    }
+
+    int getCount(int square) {
+        int[] stack = seatsOn.get(square);
+        return stack == null ? 0 : stack[0];
+    }
+
+    int getSeat(int square, int slot) {
+        return seatsOn.get(square)[slot + 1];
+    }
+
+    // Moves a seat onto a square (from wherever it was). Returns the square it
+    // left, or 0 if it wasn't on the board, so the caller can re-fan both.
+    int move(int seat, int square) {
+        int old = squareOf[seat];
+        if (old == square) return old;
+        if (old != 0) {
+            remove(seat, old);
+        }
+
+        int[] stack = seatsOn.get(square);
+        if (stack == null) {
+            stack = new int[4];
+            seatsOn.put(square, stack);
+        } else if (stack[0] + 1 == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+            seatsOn.put(square, stack);
+        }
+        int slot = stack[0]++;
+        stack[slot + 1] = seat;
+        squareOf[seat] = square;
+        slotOf[seat] = slot;
+        return old;
+    }
+
+    private void remove(int seat, int square) {
+        int[] stack = seatsOn.get(square);
+        int last = --stack[0];
+        int slot = slotOf[seat];
+        if (slot != last) {
+            int moved = stack[last + 1];
+            stack[slot + 1] = moved;
+            slotOf[moved] = slot;
+        }
+        if (last == 0) {
+            seatsOn.remove(square);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.snakeandladder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Round robin between bot strategies: every pair plays the same number of
+// two-player games, half with each strategy in seat 0. Seat 0 opens and the
+// turn passes in seat order, same as the UI.
+//
+// Parallelised the same way as MonteCarloSimulator: the whole schedule is one
+// range of game numbers split across a ForkJoinPool, with the dice split at
+// every split, so the results only depend on the seed.
+public class Tournament {
+
+    private static final long LEAF_GAMES = 1 << 13;
+
+    private final BoardLayout layout;
+    private final RuleVariant variant;
+    private final List<PlayerStrategy> strategies;
+    private final int parallelism;
+
+    // Pairings as flat arrays, pairs[2k] plays pairs[2k + 1]
+    private final int[] pairs;
+
+    public Tournament(BoardLayout layout, RuleVariant variant, List<PlayerStrategy> strategies, int parallelism) {
+        if (strategies.size() < 2) {
+            throw new IllegalArgumentException("Need at least two strategies, got " + strategies.size());
+        }
+        this.layout = layout;
+        this.variant = variant;
+        this.strategies = List.copyOf(strategies);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        int n = strategies.size();
+        pairs = new int[n * (n - 1)];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                pairs[k++] = i;
+                pairs[k++] = j;
+            }
+        }
+    }
+
+    // Plays gamesPerPairing games for every pair of strategies
+    public TournamentResult run(long gamesPerPairing, long seed) {
+        long total = gamesPerPairing * (pairs.length / 2);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new GamesTask(gamesPerPairing, 0, total, DiceSource.seeded(seed)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private class GamesTask extends RecursiveTask<TournamentResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long gamesPerPairing;
+        private final long from;
+        private final long to;
+        private final SplitMixDice dice;
+
+        GamesTask(long gamesPerPairing, long from, long to, SplitMixDice dice) {
+            this.gamesPerPairing = gamesPerPairing;
+            this.from = from;
+            this.to = to;
+            this.dice = dice;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+            if (to - from <= LEAF_GAMES) {
+                return playGames(gamesPerPairing, from, to, dice);
+            }
+            long mid = (from + to) >>> 1;
+            GamesTask right = new GamesTask(gamesPerPairing, mid, to, dice.split());
+            right.fork();
+            TournamentResult result = new GamesTask(gamesPerPairing, from, mid, dice).compute();
+            result.merge(right.join());
+            return result;
+        }
+    }
+
+    private TournamentResult playGames(long gamesPerPairing, long from, long to, DiceSource dice) {
+        TournamentResult result = new TournamentResult(strategies);
+        GameEngine engine = new GameEngine(layout);
+        PlayerStrategy[] seats = new PlayerStrategy[2];
+        int[] seatOwner = new int[2];
+
+        for (long g = from; g < to; g++) {
+            int pair = (int) (g / gamesPerPairing);
+            // Alternate who opens, going first is worth a few percent
+            int first = (g & 1) == 0 ? 0 : 1;
+            seatOwner[0] = pairs[2 * pair + first];
+            seatOwner[1] = pairs[2 * pair + 1 - first];
+            seats[0] = strategies.get(seatOwner[0]);
+            seats[1] = strategies.get(seatOwner[1]);
+
+            engine.start(2);
+            while (engine.isGameRunning()) {
+                PlayerStrategy strategy = seats[engine.getCurrentPlayerIndex()];
+                engine.playTurn(variant.nextRoll(engine, dice, strategy));
+            }
+            int winner = engine.getWinner();
+            result.recordGame(seatOwner[winner], seatOwner[1 - winner], engine.getTurnCount());
+        }
+        return result;
+    }
+
+    // Usage: Tournament [games per pairing] [variant] [threads] [seed] [layout file]
+    public static void main(String[] args) throws IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        RuleVariant variant = args.length > 1 ? RuleVariant.byName(args[1]) : RuleVariant.TWO_DICE;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        BoardLayout layout = args.length > 4 ? LayoutLoader.load(Path.of(args[4])) : BoardLayout.classic();
+
+        List<PlayerStrategy> strategies = new ArrayList<>(Arrays.asList(BotStrategy.values()));
+        Tournament tournament = new Tournament(layout, variant, strategies, threads);
+        long start = System.nanoTime();
+        TournamentResult result = tournament.run(games, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(result.report());
+        System.out.printf("Variant %s, seed %d, %d threads, %.2f s, %.1f M games/s%n",
+                variant, seed, tournament.getParallelism(), seconds, result.getTotalGames() / seconds / 1e6);
+    }
+}
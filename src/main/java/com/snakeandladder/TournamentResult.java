@@ -0,0 +1,119 @@
+package com.snakeandladder;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Head-to-head results of a Tournament plus Elo-style ratings fitted to them
+public class TournamentResult {
+
+    private static final double BASE_RATING = 1500;
+
+    private final List<PlayerStrategy> strategies;
+    private final long[] wins; // wins[i * n + j] = games i won against j
+    private long totalTurns;
+
+    TournamentResult(List<PlayerStrategy> strategies) {
+        this.strategies = strategies;
+        this.wins = new long[strategies.size() * strategies.size()];
+    }
+
+    void recordGame(int winner, int loser, long turns) {
+        wins[winner * strategies.size() + loser]++;
+        totalTurns += turns;
+    }
+
+    void merge(TournamentResult other) {
+        for (int i = 0; i < wins.length; i++) {
+            wins[i] += other.wins[i];
+        }
+        totalTurns += other.totalTurns;
+    }
+
+    public List<PlayerStrategy> getStrategies() {
+        return strategies;
+    }
+
+    public long getWins(int strategy, int opponent) {
+        return wins[strategy * strategies.size() + opponent];
+    }
+
+    public long getTotalGames() {
+        long games = 0;
+        for (long w : wins) games += w;
+        return games;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    // Bradley-Terry strengths fitted with the usual MM iteration, shown on the
+    // Elo scale (400 points = 10:1 odds) around 1500. Every pairing gets half a
+    // win each way as a prior so a strategy that never wins still gets a finite
+    // rating.
+    public double[] getRatings() {
+        int n = strategies.size();
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1);
+        for (int iteration = 0; iteration < 10_000; iteration++) {
+            double[] next = new double[n];
+            double change = 0;
+            double logSum = 0;
+            for (int i = 0; i < n; i++) {
+                double won = 0;
+                double denominator = 0;
+                for (int j = 0; j < n; j++) {
+                    if (i == j) continue;
+                    won += getWins(i, j) + 0.5;
+                    double games = getWins(i, j) + getWins(j, i) + 1;
+                    denominator += games / (strength[i] + strength[j]);
+                }
+                next[i] = won / denominator;
+                logSum += Math.log(next[i]);
+            }
+            // Pin the geometric mean to 1 so the ratings centre on BASE_RATING
+            double scale = Math.exp(-logSum / n);
+            for (int i = 0; i < n; i++) {
+                next[i] *= scale;
+                change = Math.max(change, Math.abs(next[i] - strength[i]));
+            }
+            strength = next;
+            if (change < 1e-12) break;
+        }
+
+        double[] ratings = new double[n];
+        for (int i = 0; i < n; i++) {
+            ratings[i] = BASE_RATING + 400 * Math.log10(strength[i]);
+        }
+        return ratings;
+    }
+
+    public String report() {
+        int n = strategies.size();
+        double[] ratings = getRatings();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(ratings[b], ratings[a]));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %,d, turns: %,d%n", getTotalGames(), totalTurns));
+        sb.append(String.format("%-10s %7s", "Strategy", "Elo"));
+        for (int j : order) {
+            sb.append(String.format(" %9s", strategies.get(j).getName()));
+        }
+        sb.append('\n');
+        for (int i : order) {
+            sb.append(String.format("%-10s %7.1f", strategies.get(i).getName(), ratings[i]));
+            for (int j : order) {
+                long games = getWins(i, j) + getWins(j, i);
+                if (i == j || games == 0) {
+                    sb.append(String.format(" %9s", "-"));
+                } else {
+                    sb.append(String.format(" %8.2f%%", 100.0 * getWins(i, j) / games));
+                }
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
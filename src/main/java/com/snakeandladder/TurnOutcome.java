@@ -0,0 +1,64 @@
+package com.snakeandladder;
+
+// Immutable summary of one played turn, handed to remote players and listeners
+public final class TurnOutcome {
+
+    private final int seat;
+    private final int roll;
+    private final GameEngine.TurnResult result;
+    private final int landing;
+    private final int position;
+    private final int nextSeat;
+    private final int winner;
+
+    TurnOutcome(int seat, int roll, GameEngine.TurnResult result, int landing, int position, int nextSeat, int winner) {
+        this.seat = seat;
+        this.roll = roll;
+        this.result = result;
+        this.landing = landing;
+        this.position = position;
+        this.nextSeat = nextSeat;
+        this.winner = winner;
+    }
+
+    // Snapshot of the turn the engine just played
+    static TurnOutcome of(GameEngine engine, GameEngine.TurnResult result) {
+        int seat = engine.getLastPlayer();
+        return new TurnOutcome(seat, engine.getLastRoll(), result, engine.getLastLanding(),
+                engine.getPosition(seat), engine.getCurrentPlayerIndex(), engine.getWinner());
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public int getRoll() {
+        return roll;
+    }
+
+    public GameEngine.TurnResult getResult() {
+        return result;
+    }
+
+    public int getLanding() {
+        return landing;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    // Seat to play next (unchanged once the game is over)
+    public int getNextSeat() {
+        return nextSeat;
+    }
+
+    // Winning seat, or -1 while the game is still going
+    public int getWinner() {
+        return winner;
+    }
+
+    public boolean isGameOver() {
+        return winner != -1;
+    }
+}
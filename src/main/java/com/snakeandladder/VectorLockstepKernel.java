@@ -0,0 +1,81 @@
+package com.snakeandladder;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// LockstepKernel on the incubating Vector API: one preferred-width vector of
+// lanes per iteration, with the jump table read by a gather. Only referenced by
+// name from LockstepKernel.create, so nothing else links against the module.
+//
+// Lane count must be a multiple of the vector length, LockstepSimulator
+// rounds it up to a multiple of MAX_LANES_PER_VECTOR.
+class VectorLockstepKernel implements LockstepKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    // Widest int vector there is (512 bits)
+    static final int MAX_LANES_PER_VECTOR = 16;
+
+    private final int[] jumps;
+    private final int finalSquare;
+    private final int[] index = new int[SPECIES.length()]; // Gather offsets for one vector
+
+    VectorLockstepKernel(BoardLayout layout) {
+        if (SPECIES.length() < 4) {
+            // Narrower than 128 bits is slower than the scalar loop
+            throw new UnsupportedOperationException("No useful int vector width on this CPU");
+        }
+        this.jumps = layout.getJumpTable();
+        this.finalSquare = layout.getFinalSquare();
+    }
+
+    @Override
+    public int move(int[] positions, boolean[] active, int[] oldest, int[] newest, int[] finished) {
+        int count = 0;
+        int width = SPECIES.length();
+        for (int i = 0; i < positions.length; i += width) {
+            // xorshift128 step, same as the scalar kernel
+            IntVector x = IntVector.fromArray(SPECIES, oldest, i);
+            IntVector t = x.lanewise(VectorOperators.XOR, x.lanewise(VectorOperators.LSHL, 11));
+            IntVector w = IntVector.fromArray(SPECIES, newest, i);
+            w = w.lanewise(VectorOperators.XOR, w.lanewise(VectorOperators.LSHR, 19))
+                    .lanewise(VectorOperators.XOR, t)
+                    .lanewise(VectorOperators.XOR, t.lanewise(VectorOperators.LSHR, 8));
+            w.intoArray(oldest, i);
+
+            VectorMask<Integer> playing = VectorMask.fromArray(SPECIES, active, i);
+            if (!playing.anyTrue()) continue;
+
+            IntVector roll = w.lanewise(VectorOperators.LSHR, 8).mul(DiceSource.FACES)
+                    .lanewise(VectorOperators.LSHR, 24).add(1);
+            IntVector pos = IntVector.fromArray(SPECIES, positions, i);
+            IntVector target = pos.add(roll);
+            VectorMask<Integer> overshoot = target.compare(VectorOperators.GT, finalSquare);
+
+            // Gather jumps[target], clamped so overshooting lanes still read in bounds
+            target.min(finalSquare).intoArray(index, 0);
+            IntVector dest = IntVector.fromArray(SPECIES, jumps, 0, index, 0);
+            dest = dest.blend(pos, overshoot.or(playing.not()));
+            dest.intoArray(positions, i);
+
+            VectorMask<Integer> won = dest.compare(VectorOperators.EQ, finalSquare).and(playing);
+            if (won.anyTrue()) {
+                long bits = won.toLong();
+                while (bits != 0) {
+                    int lane = i + Long.numberOfTrailingZeros(bits);
+                    active[lane] = false;
+                    finished[count++] = lane;
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String getName() {
+        return "vector " + SPECIES.vectorBitSize() + "-bit";
+    }
+}
@@ -0,0 +1,542 @@
+package com.snakeandladder;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Virtualized board view for boards far too big to draw whole. The canvases
+// are only as big as the window, and each redraw paints just the tiles, snakes
+// and ladders that intersect the visible part of the board, so memory and
+// frame time depend on the window size, not the board size. Scroll to zoom
+// (around the pointer), drag to pan.
+//
+// Board coordinates stay in fixed "world" pixels (Board's tile size never
+// changes in this mode), so tokens are positioned exactly as in the other
+// modes and zooming or panning never has to touch them; the view transform is
+// applied when drawing. Nothing is a node per tile, so there is nothing to
+// recycle as the view scrolls, tiles are simply painted or not.
+class ViewportBoardRenderer {
+
+    // Zoom limits, in screen pixels per tile
+    private static final double MIN_TILE_PIXELS = 0.25;
+    private static final double MAX_TILE_PIXELS = 200;
+    private static final double START_TILE_PIXELS = 40;
+    // Below these on-screen sizes detail is skipped, which also caps how many
+    // things one frame can draw when zoomed far out
+    private static final double TILE_DETAIL_PIXELS = 4;
+    private static final double GRID_LINE_PIXELS = 8;
+    private static final double NUMBER_PIXELS = 18;
+    private static final double RUNG_SPACING = 20; // World pixels, same as the other renderers
+
+    private final Board board;
+    private final BoardLayout layout;
+    private final double worldTile; // Board's (fixed) tile size
+    private final SegmentIndex index;
+
+    private final Canvas staticLayer = new Canvas();
+    private final Canvas tokenLayer = new Canvas();
+    private final Group root = new Group(staticLayer, tokenLayer);
+
+    // View: screen = (world - origin) * scale
+    private double scale;
+    private double originX;
+    private double originY;
+    private boolean viewDirty = true;
+
+    private final List<Circle> tokens = new ArrayList<>();
+    private double[] drawnX = new double[0];
+    private double[] drawnY = new double[0];
+    private boolean tokensDirty = true;
+
+    private double dragX;
+    private double dragY;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            // Nothing to draw on, or even a view to draw, until the first size
+            if (staticLayer.getWidth() == 0) return;
+            if (viewDirty) {
+                viewDirty = false;
+                redrawStatic();
+                tokensDirty = true;
+            }
+            drawTokensIfMoved();
+        }
+    };
+
+    ViewportBoardRenderer(Board board) {
+        this.board = board;
+        this.layout = board.getLayout();
+        this.worldTile = board.getTileSize();
+        this.index = new SegmentIndex(layout);
+        this.scale = START_TILE_PIXELS / worldTile;
+
+        tokenLayer.setOnScroll(e -> {
+            double factor = Math.exp(e.getDeltaY() * 0.002);
+            zoomAt(e.getX(), e.getY(), factor);
+        });
+        tokenLayer.setOnMousePressed(e -> {
+            dragX = e.getX();
+            dragY = e.getY();
+        });
+        tokenLayer.setOnMouseDragged(e -> {
+            panBy(dragX - e.getX(), dragY - e.getY());
+            dragX = e.getX();
+            dragY = e.getY();
+        });
+        timer.start();
+    }
+
+    Group getNode() {
+        return root;
+    }
+
+    void addToken(Circle token) {
+        tokens.add(token);
+        drawnX = Arrays.copyOf(drawnX, tokens.size());
+        drawnY = Arrays.copyOf(drawnY, tokens.size());
+        tokensDirty = true;
+    }
+
+    void removeToken(Circle token) {
+        int i = tokens.indexOf(token);
+        if (i == -1) return;
+        tokens.remove(i);
+        System.arraycopy(drawnX, i + 1, drawnX, i, tokens.size() - i);
+        System.arraycopy(drawnY, i + 1, drawnY, i, tokens.size() - i);
+        drawnX = Arrays.copyOf(drawnX, tokens.size());
+        drawnY = Arrays.copyOf(drawnY, tokens.size());
+        tokensDirty = true;
+    }
+
+    // Stops the redraw timer, same as CanvasBoardRenderer.dispose
+    void dispose() {
+        timer.stop();
+    }
+
+    // Window area available to the board, from Board.resizeBoard. That is the
+    // only thing that sizes the canvases, so the controller runs it once at
+    // startup rather than waiting for the window to change. The first call also
+    // puts square 1 (bottom left) in view.
+    void setViewportSize(double width, double height) {
+        boolean first = staticLayer.getWidth() == 0;
+        staticLayer.setWidth(width);
+        staticLayer.setHeight(height);
+        tokenLayer.setWidth(width);
+        tokenLayer.setHeight(height);
+        if (first) {
+            originX = -worldTile;
+            originY = layout.getRows() * worldTile - (height / scale) + worldTile;
+        }
+        clampOrigin();
+        viewDirty = true;
+    }
+
+    // Zooms keeping the board point under (x, y) where it is on screen
+    void zoomAt(double x, double y, double factor) {
+        double minScale = MIN_TILE_PIXELS / worldTile;
+        double maxScale = MAX_TILE_PIXELS / worldTile;
+        double newScale = Math.max(minScale, Math.min(maxScale, scale * factor));
+        double worldX = originX + x / scale;
+        double worldY = originY + y / scale;
+        scale = newScale;
+        originX = worldX - x / scale;
+        originY = worldY - y / scale;
+        clampOrigin();
+        viewDirty = true;
+    }
+
+    void panBy(double dx, double dy) {
+        originX += dx / scale;
+        originY += dy / scale;
+        clampOrigin();
+        viewDirty = true;
+    }
+
+    // Keeps at least half a screen of board in view
+    private void clampOrigin() {
+        double viewW = staticLayer.getWidth() / scale;
+        double viewH = staticLayer.getHeight() / scale;
+        double worldW = layout.getCols() * worldTile;
+        double worldH = layout.getRows() * worldTile;
+        originX = Math.max(-viewW / 2, Math.min(worldW - viewW / 2, originX));
+        originY = Math.max(-viewH / 2, Math.min(worldH - viewH / 2, originY));
+    }
+
+    private void redrawStatic() {
+        double w = staticLayer.getWidth();
+        double h = staticLayer.getHeight();
+        GraphicsContext g = staticLayer.getGraphicsContext2D();
+        g.clearRect(0, 0, w, h);
+
+        int rows = layout.getRows();
+        int cols = layout.getCols();
+        double tilePx = worldTile * scale;
+
+        // Visible tile range (view rows count from the top like Board does)
+        int c0 = Math.max(0, (int) Math.floor(originX / worldTile));
+        int c1 = Math.min(cols - 1, (int) Math.floor((originX + w / scale) / worldTile));
+        int r0 = Math.max(0, (int) Math.floor(originY / worldTile));
+        int r1 = Math.min(rows - 1, (int) Math.floor((originY + h / scale) / worldTile));
+        if (c0 > c1 || r0 > r1) return;
+
+        if (tilePx < TILE_DETAIL_PIXELS) {
+            // Too small to see individual tiles, one rectangle for the lot
+            g.setFill(Color.LIGHTYELLOW);
+            g.fillRect(screenX(c0 * worldTile), screenY(r0 * worldTile),
+                    (c1 - c0 + 1) * tilePx, (r1 - r0 + 1) * tilePx);
+        } else {
+            drawTiles(g, c0, c1, r0, r1, tilePx);
+        }
+        drawSegments(g, c0, c1, r0, r1);
+    }
+
+    private void drawTiles(GraphicsContext g, int c0, int c1, int r0, int r1, double tilePx) {
+        int rows = layout.getRows();
+        int cols = layout.getCols();
+        boolean gridLines = tilePx >= GRID_LINE_PIXELS;
+        boolean numbers = tilePx >= NUMBER_PIXELS;
+        if (numbers) {
+            g.setFont(Tile.numberFont(tilePx * 0.3));
+            g.setTextAlign(TextAlignment.CENTER);
+            g.setTextBaseline(VPos.CENTER);
+        }
+        g.setLineWidth(1);
+        g.setStroke(Color.BLACK);
+
+        for (int viewRow = r0; viewRow <= r1; viewRow++) {
+            int row = rows - 1 - viewRow;
+            double y = screenY(viewRow * worldTile);
+            for (int c = c0; c <= c1; c++) {
+                // Same snaking numbering as Board.getCoordinatesForNumber
+                int col = (row % 2 == 1) ? cols - 1 - c : c;
+                int number = row * cols + col + 1;
+                double x = screenX(c * worldTile);
+                g.setFill((number % 2 == 0) ? Color.LIGHTYELLOW : Color.LIGHTCYAN);
+                g.fillRect(x, y, tilePx, tilePx);
+                if (gridLines) {
+                    g.strokeRect(x, y, tilePx, tilePx);
+                }
+                if (numbers) {
+                    g.setFill(Color.BLACK);
+                    g.fillText(Integer.toString(number), x + tilePx / 2, y + tilePx / 2);
+                }
+            }
+        }
+    }
+
+    // Snakes and ladders touching the visible tiles, found through the index
+    private void drawSegments(GraphicsContext g, int c0, int c1, int r0, int r1) {
+        Board.Point p1 = new Board.Point(0, 0);
+        Board.Point p2 = new Board.Point(0, 0);
+        int ladders = layout.getLadderCount();
+        int[] visible = index.query(c0, c1, r0, r1);
+        int count = index.getQueryCount();
+
+        // Ladders first so snakes end up on top, as in the other modes
+        g.setStroke(Color.DARKGREEN);
+        g.setLineCap(StrokeLineCap.SQUARE);
+        for (int k = 0; k < count; k++) {
+            int item = visible[k];
+            if (item >= ladders) continue;
+            board.fillCenter(layout.getLadderBottom(item), p1);
+            board.fillCenter(layout.getLadderEnd(item), p2);
+            drawLadder(g, p1, p2);
+        }
+
+        g.setLineCap(StrokeLineCap.ROUND);
+        for (int k = 0; k < count; k++) {
+            int item = visible[k];
+            if (item < ladders) continue;
+            int s = item - ladders;
+            board.fillCenter(layout.getSnakeHead(s), p1);
+            board.fillCenter(layout.getSnakeEnd(s), p2);
+            drawSnake(g, p1, p2);
+        }
+    }
+
+    private void drawLadder(GraphicsContext g, Board.Point p1, Board.Point p2) {
+        double dx = p2.x - p1.x;
+        double dy = p2.y - p1.y;
+        double length = Math.sqrt(dx*dx + dy*dy);
+        double nx = -dy / length;
+        double ny = dx / length;
+        double width = 10;
+
+        g.setLineWidth(Math.max(1, 3 * scale));
+        g.strokeLine(screenX(p1.x - nx*width), screenY(p1.y - ny*width), screenX(p2.x - nx*width), screenY(p2.y - ny*width));
+        g.strokeLine(screenX(p1.x + nx*width), screenY(p1.y + ny*width), screenX(p2.x + nx*width), screenY(p2.y + ny*width));
+
+        // Rungs only where they'd be visible and distinguishable, so a ladder
+        // across the whole board costs the same as a short one
+        int steps = Math.max(1, (int)(length / RUNG_SPACING));
+        if (length / steps * scale < 3) return;
+        double margin = width / scale;
+        double[] range = clip(p1.x, p1.y, p2.x, p2.y, originX - margin, originY - margin,
+                originX + staticLayer.getWidth() / scale + margin, originY + staticLayer.getHeight() / scale + margin);
+        if (range == null) return;
+
+        g.setLineWidth(Math.max(1, 2 * scale));
+        int first = (int) Math.ceil(range[0] * steps);
+        int last = (int) Math.floor(range[1] * steps);
+        for (int i = first; i <= last; i++) {
+            double t = (double)i / steps;
+            double cx = p1.x + dx*t;
+            double cy = p1.y + dy*t;
+            g.strokeLine(screenX(cx - nx*width), screenY(cy - ny*width), screenX(cx + nx*width), screenY(cy + ny*width));
+        }
+    }
+
+    private void drawSnake(GraphicsContext g, Board.Point p1, Board.Point p2) {
+        double midX = (p1.x + p2.x) / 2;
+        double midY = (p1.y + p2.y) / 2;
+        double dx = p2.x - p1.x;
+        double dy = p2.y - p1.y;
+
+        g.setStroke(Color.RED);
+        g.setLineWidth(Math.max(1, 4 * scale));
+        g.beginPath();
+        g.moveTo(screenX(p1.x), screenY(p1.y));
+        g.quadraticCurveTo(screenX(midX + dy * 0.3), screenY(midY - dx * 0.3), screenX(p2.x), screenY(p2.y));
+        g.stroke();
+
+        double r = Math.max(1.5, 6 * scale);
+        g.setFill(Color.DARKRED);
+        g.fillOval(screenX(p1.x) - r, screenY(p1.y) - r, r * 2, r * 2);
+    }
+
+    // Liang-Barsky: the [t0, t1] part of the segment inside the rectangle, or null
+    private static double[] clip(double x1, double y1, double x2, double y2,
+                                 double minX, double minY, double maxX, double maxY) {
+        double t0 = 0;
+        double t1 = 1;
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x1 - minX, maxX - x1, y1 - minY, maxY - y1};
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                if (q[i] < 0) return null;
+                continue;
+            }
+            double t = q[i] / p[i];
+            if (p[i] < 0) {
+                t0 = Math.max(t0, t);
+            } else {
+                t1 = Math.min(t1, t);
+            }
+        }
+        return t0 <= t1 ? new double[] {t0, t1} : null;
+    }
+
+    private void drawTokensIfMoved() {
+        if (!tokensDirty) {
+            for (int i = 0; i < tokens.size(); i++) {
+                Circle t = tokens.get(i);
+                if (t.getTranslateX() != drawnX[i] || t.getTranslateY() != drawnY[i]) {
+                    tokensDirty = true;
+                    break;
+                }
+            }
+            if (!tokensDirty) return;
+        }
+
+        GraphicsContext g = tokenLayer.getGraphicsContext2D();
+        g.clearRect(0, 0, tokenLayer.getWidth(), tokenLayer.getHeight());
+        for (int i = 0; i < tokens.size(); i++) {
+            Circle t = tokens.get(i);
+            double x = t.getTranslateX();
+            double y = t.getTranslateY();
+            double r = Math.max(3, t.getRadius() * scale);
+            double sx = screenX(x);
+            double sy = screenY(y);
+
+            g.setFill(t.getFill());
+            g.fillOval(sx - r, sy - r, r * 2, r * 2);
+            g.setStroke(t.getStroke());
+            g.setLineWidth(Math.max(1, t.getStrokeWidth() * scale));
+            g.strokeOval(sx - r, sy - r, r * 2, r * 2);
+
+            drawnX[i] = x;
+            drawnY[i] = y;
+        }
+        tokensDirty = false;
+    }
+
+    private double screenX(double worldX) {
+        return (worldX - originX) * scale;
+    }
+
+    private double screenY(double worldY) {
+        return (worldY - originY) * scale;
+    }
+
+    // Uniform grid over the board in blocks of CELL x CELL tiles. Each snake or
+    // ladder is listed in every cell its path crosses (snakes are followed
+    // along their curve), stored CSR style: cells[c]..cells[c + 1] index into
+    // items. A query walks the visible cells and returns each item once.
+    static class SegmentIndex {
+        private static final int CELL = 8;
+        private static final int CURVE_PIECES = 8;
+
+        private final int cellCols;
+        private final int cellRows;
+        private final int[] cells;
+        private final int[] items;
+
+        private final int[] seen;   // Query stamp per item, to skip duplicates
+        private int stamp;
+        private int[] touched = new int[64]; // Scratch for cellsAlong while building
+        private int[] result = new int[16];
+        private int resultCount;
+
+        SegmentIndex(BoardLayout layout) {
+            int cols = layout.getCols();
+            int rows = layout.getRows();
+            cellCols = (cols + CELL - 1) / CELL;
+            cellRows = (rows + CELL - 1) / CELL;
+            int ladders = layout.getLadderCount();
+            int total = ladders + layout.getSnakeCount();
+            seen = new int[total];
+
+            // Collect (cell, item) pairs, then bucket them by cell
+            int[] pairCell = new int[64];
+            int[] pairItem = new int[64];
+            int pairs = 0;
+            for (int item = 0; item < total; item++) {
+                boolean snake = item >= ladders;
+                int from = snake ? layout.getSnakeHead(item - ladders) : layout.getLadderBottom(item);
+                int to = snake ? layout.getSnakeEnd(item - ladders) : layout.getLadderEnd(item);
+                int n = cellsAlong(from, to, snake, cols, rows);
+                for (int k = 0; k < n; k++) {
+                    if (pairs == pairCell.length) {
+                        pairCell = Arrays.copyOf(pairCell, pairs * 2);
+                        pairItem = Arrays.copyOf(pairItem, pairs * 2);
+                    }
+                    pairCell[pairs] = touched[k];
+                    pairItem[pairs] = item;
+                    pairs++;
+                }
+            }
+
+            cells = new int[cellCols * cellRows + 1];
+            for (int i = 0; i < pairs; i++) {
+                cells[pairCell[i] + 1]++;
+            }
+            for (int c = 0; c < cellCols * cellRows; c++) {
+                cells[c + 1] += cells[c];
+            }
+            items = new int[pairs];
+            int[] fill = Arrays.copyOf(cells, cells.length - 1);
+            for (int i = 0; i < pairs; i++) {
+                items[fill[pairCell[i]]++] = pairItem[i];
+            }
+        }
+
+        // Cells crossed by one snake or ladder, written into touched. Returns how
+        // many. The odd repeat can slip through, query skips those anyway.
+        private int cellsAlong(int from, int to, boolean snake, int cols, int rows) {
+            int[] out = touched;
+            double x1 = centerCol(from, cols, rows);
+            double y1 = centerRow(from, cols, rows);
+            double x2 = centerCol(to, cols, rows);
+            double y2 = centerRow(to, cols, rows);
+            double cx = (x1 + x2) / 2 + (y2 - y1) * 0.3;
+            double cy = (y1 + y2) / 2 - (x2 - x1) * 0.3;
+
+            int n = 0;
+            int pieces = snake ? CURVE_PIECES : 1;
+            double px = x1;
+            double py = y1;
+            for (int piece = 1; piece <= pieces; piece++) {
+                double t = (double) piece / pieces;
+                double qx = snake ? (1-t)*(1-t)*x1 + 2*(1-t)*t*cx + t*t*x2 : x2;
+                double qy = snake ? (1-t)*(1-t)*y1 + 2*(1-t)*t*cy + t*t*y2 : y2;
+
+                // Sample every half cell along the piece
+                double length = Math.hypot(qx - px, qy - py);
+                int samples = Math.max(1, (int) Math.ceil(length / (CELL / 2.0)));
+                for (int s = 0; s <= samples; s++) {
+                    double u = (double) s / samples;
+                    int cellX = clampCell((int) ((px + (qx - px) * u) / CELL), cellCols);
+                    int cellY = clampCell((int) ((py + (qy - py) * u) / CELL), cellRows);
+                    int cell = cellY * cellCols + cellX;
+                    if (n > 0 && out[n - 1] == cell) continue;
+                    if (contains(out, n, cell)) continue;
+                    if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                    out[n++] = cell;
+                }
+                px = qx;
+                py = qy;
+            }
+            touched = out;
+            return n;
+        }
+
+        private static boolean contains(int[] values, int n, int value) {
+            // Cells come out in path order, so a repeat is almost always recent
+            for (int i = n - 1; i >= 0 && i >= n - 8; i--) {
+                if (values[i] == value) return true;
+            }
+            return false;
+        }
+
+        private static int clampCell(int cell, int count) {
+            return Math.max(0, Math.min(count - 1, cell));
+        }
+
+        // Tile-unit centre of a square, view row 0 at the top like Board
+        private static double centerCol(int number, int cols, int rows) {
+            int row = (number - 1) / cols;
+            int col = (number - 1) % cols;
+            if (row % 2 == 1) col = cols - 1 - col;
+            return col + 0.5;
+        }
+
+        private static double centerRow(int number, int cols, int rows) {
+            return (rows - 1 - (number - 1) / cols) + 0.5;
+        }
+
+        // Items crossing tile columns c0..c1 and view rows r0..r1, padded by a
+        // cell for line widths. The returned array is reused by the next query;
+        // only the first getQueryCount() entries are valid.
+        int[] query(int c0, int c1, int r0, int r1) {
+            stamp++;
+            resultCount = 0;
+            int x0 = Math.max(0, c0 / CELL - 1);
+            int x1 = Math.min(cellCols - 1, c1 / CELL + 1);
+            int y0 = Math.max(0, r0 / CELL - 1);
+            int y1 = Math.min(cellRows - 1, r1 / CELL + 1);
+            for (int y = y0; y <= y1; y++) {
+                for (int x = x0; x <= x1; x++) {
+                    int cell = y * cellCols + x;
+                    for (int i = cells[cell]; i < cells[cell + 1]; i++) {
+                        int item = items[i];
+                        if (seen[item] == stamp) continue;
+                        seen[item] = stamp;
+                        if (resultCount == result.length) {
+                            result = Arrays.copyOf(result, resultCount * 2);
+                        }
+                        result[resultCount++] = item;
+                    }
+                }
+            }
+            return result;
+        }
+
+        int getQueryCount() {
+            return resultCount;
+        }
+    }
+}
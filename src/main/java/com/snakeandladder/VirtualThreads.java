@@ -0,0 +1,47 @@
+package com.snakeandladder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// The build targets Java 17, so virtual threads are looked up reflectively.
+// On a Java 21+ runtime we get one virtual thread per task; on older runtimes
+// we fall back to platform threads, which works but won't scale to 100k tasks.
+final class VirtualThreads {
+
+    private static final MethodHandle NEW_EXECUTOR = find();
+
+    private VirtualThreads() {
+    }
+
+    static boolean isAvailable() {
+        return NEW_EXECUTOR != null;
+    }
+
+    // Executor that starts a new (virtual if possible) thread for every task
+    static ExecutorService newThreadPerTaskExecutor(String name) {
+        if (NEW_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_EXECUTOR.invoke();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not create virtual thread executor", e);
+            }
+        }
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static MethodHandle find() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardLayoutTest {
+
+    @Test
+    void classicBoardIsValid() {
+        BoardLayout layout = BoardLayout.classic();
+        assertEquals(100, layout.getFinalSquare());
+        assertEquals(6, layout.getSnakeTail(16));
+    }
+
+    @Test
+    void cycleIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                new BoardLayout(3, 3, new int[] {6}, new int[] {2}, new int[] {2}, new int[] {6}));
+        assertTrue(e.getMessage().contains("cycle"), e.getMessage());
+    }
+
+    @Test
+    void unreachableFinalSquareIsRejected() {
+        // Snakes on 3..8 mean nobody can ever land on 9
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                new BoardLayout(3, 3, new int[] {3, 4, 5, 6, 7, 8}, new int[] {2, 2, 2, 2, 2, 2},
+                        new int[0], new int[0]));
+        assertTrue(e.getMessage().contains("final square"), e.getMessage());
+    }
+
+    @Test
+    void loaderReportsUnreachableFinalSquare() {
+        String file = "size 4 4\nS 10 2\nS 11 2\nS 12 2\nS 13 2\nS 14 2\nS 15 2\n";
+        IOException e = assertThrows(IOException.class, () -> LayoutLoader.parse(new StringReader(file), "trap.txt"));
+        assertTrue(e.getMessage().startsWith("trap.txt: "), e.getMessage());
+    }
+
+    @Test
+    void squareOnlyReachableBehindAWallIsFine() {
+        // 3..8 are snakes but the ladder from 2 jumps over them
+        new BoardLayout(3, 3, new int[] {3, 4, 5, 6, 7, 8}, new int[] {1, 1, 1, 1, 1, 1},
+                new int[] {2}, new int[] {9});
+    }
+}
@@ -0,0 +1,84 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiceSourceTest {
+
+    private static final int ROLLS = 60_000;
+
+    private static int[] rolls(DiceSource dice) {
+        int[] rolls = new int[ROLLS];
+        for (int i = 0; i < ROLLS; i++) {
+            rolls[i] = dice.roll();
+            assertTrue(rolls[i] >= 1 && rolls[i] <= DiceSource.FACES);
+        }
+        return rolls;
+    }
+
+    // Two independent fair dice agree about one roll in six
+    private static void assertIndependent(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < ROLLS; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        assertEquals(1.0 / DiceSource.FACES, (double) same / ROLLS, 0.01);
+    }
+
+    @Test
+    void sameSeedSameRolls() {
+        assertArrayEquals(rolls(new SplitMixDice(42)), rolls(new SplitMixDice(42)));
+        assertArrayEquals(rolls(RandomGeneratorDice.of("Xoroshiro128PlusPlus", 42)),
+                rolls(RandomGeneratorDice.of("Xoroshiro128PlusPlus", 42)));
+        assertIndependent(rolls(new SplitMixDice(42)), rolls(new SplitMixDice(43)));
+    }
+
+    @Test
+    void splitMixDiceIsFair() {
+        int[] counts = new int[DiceSource.FACES + 1];
+        for (int roll : rolls(new SplitMixDice(7))) {
+            counts[roll]++;
+        }
+        for (int face = 1; face <= DiceSource.FACES; face++) {
+            assertEquals(1.0 / DiceSource.FACES, (double) counts[face] / ROLLS, 0.01);
+        }
+    }
+
+    @Test
+    void splitStreamsAreIndependent() {
+        SplitMixDice parent = new SplitMixDice(42);
+        SplitMixDice child = parent.split();
+        assertIndependent(rolls(parent), rolls(child));
+
+        // And splitting is reproducible
+        SplitMixDice again = new SplitMixDice(42);
+        assertArrayEquals(rolls(new SplitMixDice(42).split()), rolls(again.split()));
+
+        assertIndependent(rolls(SplitMixDice.forIndex(42, 0)), rolls(SplitMixDice.forIndex(42, 1)));
+
+        RandomGeneratorDice splittable = RandomGeneratorDice.of("L64X128MixRandom", 42);
+        assertIndependent(rolls(splittable), rolls(splittable.split()));
+        RandomGeneratorDice jumpable = RandomGeneratorDice.of("Xoroshiro128PlusPlus", 42);
+        assertIndependent(rolls(jumpable), rolls(jumpable.split()));
+    }
+
+    @Test
+    void generatorsThatCantSplitSaySo() {
+        RandomGeneratorDice dice = new RandomGeneratorDice(new Random(42));
+        assertThrows(UnsupportedOperationException.class, dice::split);
+    }
+
+    @Test
+    void savedStateResumesTheStream() {
+        SplitMixDice dice = new SplitMixDice(42);
+        rolls(dice);
+        SplitMixDice copy = new SplitMixDice(dice.getState(), dice.getGamma());
+        assertArrayEquals(rolls(dice), rolls(copy));
+    }
+}
@@ -0,0 +1,113 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEngineTest {
+
+    // Ten squares and nothing on them, so every move is easy to follow
+    private static GameEngine plainBoard() {
+        return new GameEngine(new BoardLayout(2, 5, Map.of(), Map.of()));
+    }
+
+    @Test
+    void everyoneStartsOnSquareOne() {
+        GameEngine engine = new GameEngine(BoardLayout.classic());
+        engine.start(3);
+
+        for (int p = 0; p < 3; p++) {
+            // The classic ladder at 1 is only taken by landing on it
+            assertEquals(1, engine.getPosition(p));
+        }
+        assertEquals(0, engine.getCurrentPlayerIndex());
+        assertTrue(engine.isGameRunning());
+        assertFalse(engine.isGameOver());
+        assertEquals(-1, engine.getWinner());
+        assertEquals(0, engine.getTurnCount());
+        assertThrows(IllegalArgumentException.class, () -> engine.start(0));
+    }
+
+    @Test
+    void snakesAndLaddersAreTakenOncePerMove() {
+        GameEngine engine = new GameEngine(BoardLayout.classic());
+        engine.start(1);
+
+        assertEquals(GameEngine.TurnResult.MOVED, engine.playTurn(2));
+        assertEquals(3, engine.getPosition(0));
+
+        assertEquals(GameEngine.TurnResult.LADDER, engine.playTurn(1));
+        assertEquals(4, engine.getLastLanding());
+        assertEquals(14, engine.getPosition(0));
+
+        assertEquals(GameEngine.TurnResult.SNAKE, engine.playTurn(2));
+        assertEquals(14, engine.getLastStart());
+        assertEquals(16, engine.getLastLanding());
+        assertEquals(6, engine.getPosition(0));
+        assertEquals(3, engine.getTurnCount());
+    }
+
+    @Test
+    void lastSquareNeedsAnExactRoll() {
+        GameEngine engine = plainBoard();
+        engine.start(1);
+        engine.playTurn(6);
+        assertEquals(7, engine.getPosition(0));
+
+        assertEquals(GameEngine.TurnResult.OVERSHOOT, engine.playTurn(4));
+        assertEquals(7, engine.getPosition(0));
+        assertEquals(7, engine.getLastLanding());
+        assertTrue(engine.isGameRunning());
+
+        assertEquals(GameEngine.TurnResult.MOVED, engine.playTurn(3));
+        assertEquals(10, engine.getPosition(0));
+        assertFalse(engine.isGameRunning());
+        assertTrue(engine.isGameOver());
+        assertEquals(0, engine.getWinner());
+        assertThrows(IllegalStateException.class, () -> engine.playTurn(1));
+    }
+
+    @Test
+    void turnsGoRoundUntilSomeoneWins() {
+        GameEngine engine = plainBoard();
+        engine.start(3);
+
+        int[] rolls = {1, 2, 3, 6, 6, 5, 2};
+        int[] movers = {0, 1, 2, 0, 1, 2, 0};
+        for (int i = 0; i < rolls.length; i++) {
+            assertEquals(movers[i], engine.getCurrentPlayerIndex());
+            engine.playTurn(rolls[i]);
+            assertEquals(movers[i], engine.getLastPlayer());
+        }
+
+        // Seat 0 went 1 -> 2 -> 8 -> 10 and won, the turn stays with the winner
+        assertEquals(0, engine.getWinner());
+        assertEquals(0, engine.getCurrentPlayerIndex());
+        assertEquals(9, engine.getPosition(1));
+        assertEquals(10, engine.getPosition(0));
+        assertEquals(7, engine.getTurnCount());
+    }
+
+    @Test
+    void playToEndUsesTheDice() {
+        GameEngine engine = plainBoard();
+        engine.start(2);
+        ScriptedDice dice = new ScriptedDice(5, 1, 4);
+
+        assertEquals(0, engine.playToEnd(dice));
+        assertFalse(dice.hasNext());
+        assertEquals(2, engine.getPosition(1));
+        assertEquals(3, engine.getTurnCount());
+
+        // A fresh start forgets the finished game
+        engine.start(2);
+        assertTrue(engine.isGameRunning());
+        assertEquals(1, engine.getPosition(0));
+        assertEquals(-1, engine.getWinner());
+    }
+}
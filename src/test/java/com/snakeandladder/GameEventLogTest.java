@@ -0,0 +1,92 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEventLogTest {
+
+    @TempDir
+    Path dir;
+
+    private Path logGames(BoardLayout layout, int games) throws IOException {
+        Path file = dir.resolve("games.slev");
+        GameEngine engine = new GameEngine(layout);
+        DiceSource dice = DiceSource.seeded(7);
+        try (GameEventLog log = new GameEventLog(file)) {
+            for (int g = 0; g < games; g++) {
+                engine.start(2);
+                log.gameStarted(layout, 2);
+                while (engine.isGameRunning()) {
+                    log.recordTurn(engine, engine.playTurn(dice.roll()));
+                }
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void startRecordCarriesTheLayoutId() throws IOException {
+        BoardLayout layout = BoardLayout.classic();
+        Path file = logGames(layout, 1);
+
+        GameEventReplay.GameRolls rolls = GameEventReplay.readGame(file, 0);
+        assertEquals(layout.getId(), rolls.layoutId);
+        assertTrue(rolls.matches(layout));
+
+        // Same size, different snakes: must not be replayed
+        BoardLayout other = new BoardLayout(10, 10, Map.of(99, 2), Map.of());
+        assertFalse(rolls.matches(other));
+    }
+
+    @Test
+    void replayOnAnotherLayoutIsRefused() throws IOException {
+        Path file = logGames(BoardLayout.classic(), 1);
+        Path layoutFile = dir.resolve("other.txt");
+        Files.writeString(layoutFile, "size 10 10\nS 99 2\n");
+
+        GameOptions options = GameOptions.fromNamedParameters(Map.of(
+                "layout", layoutFile.toString(), "replay", file.toString()));
+        assertNull(options.getReplay());
+    }
+
+    @Test
+    void truncatedLastRecordEndsTheReplayCleanly() throws IOException {
+        Path file = logGames(BoardLayout.classic(), 2);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try (GameEventReplay replay = new GameEventReplay(file)) {
+            int events = 0;
+            while (replay.next()) {
+                events++;
+            }
+            assertTrue(events > 0);
+            assertTrue(replay.isTruncated());
+        }
+        // First game is whole, the second lost its winning turn
+        assertEquals(2, GameEventReplay.readGame(file, 0).playerCount);
+        IOException e = assertThrows(IOException.class, () -> GameEventReplay.readGame(file, 1));
+        assertTrue(e.getMessage().contains("truncated"), e.getMessage());
+    }
+
+    @Test
+    void refusesToAppendToAnotherVersion() throws IOException {
+        Path file = dir.resolve("old.slev");
+        Files.write(file, new byte[] {'S', 'L', 'E', 'V', 1});
+        assertThrows(IOException.class, () -> new GameEventLog(file));
+    }
+}
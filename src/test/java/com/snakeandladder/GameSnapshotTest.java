@@ -0,0 +1,102 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static final BoardLayout CLASSIC = BoardLayout.classic();
+
+    // A three player game some way in, saved to a file
+    private Path saveGame(GameEngine engine, SplitMixDice dice) throws IOException {
+        engine.start(3);
+        for (int i = 0; i < 20 && engine.isGameRunning(); i++) {
+            engine.playTurn(dice.roll());
+        }
+        ByteBuffer out = ByteBuffer.allocate(GameSnapshot.size(engine.getPlayerCount()));
+        GameSnapshot.write(engine, dice, out);
+        Path file = dir.resolve("game.slsn");
+        Files.write(file, out.array());
+        return file;
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        GameEngine engine = new GameEngine(CLASSIC);
+        SplitMixDice dice = new SplitMixDice(11);
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(saveGame(engine, dice)));
+        assertEquals(3, GameSnapshot.peekPlayerCount(in));
+
+        GameEngine restored = new GameEngine(CLASSIC);
+        SplitMixDice restoredDice = new SplitMixDice(99);
+        assertTrue(GameSnapshot.read(in, restored, restoredDice));
+        assertFalse(in.hasRemaining());
+
+        assertEquals(engine.getPlayerCount(), restored.getPlayerCount());
+        assertEquals(engine.getCurrentPlayerIndex(), restored.getCurrentPlayerIndex());
+        assertEquals(engine.getWinner(), restored.getWinner());
+        assertEquals(engine.getTurnCount(), restored.getTurnCount());
+        for (int p = 0; p < 3; p++) {
+            assertEquals(engine.getPosition(p), restored.getPosition(p));
+        }
+        // Both games carry on with the same rolls
+        for (int i = 0; i < 50; i++) {
+            assertEquals(dice.roll(), restoredDice.roll());
+        }
+    }
+
+    @Test
+    void otherLayoutIsRefused() throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(saveGame(new GameEngine(CLASSIC), new SplitMixDice(11))));
+        GameEngine plain = new GameEngine(new BoardLayout(10, 10, Map.of(), Map.of()));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.read(in, plain, new SplitMixDice(1)));
+        assertTrue(e.getMessage().contains("different board layout"));
+    }
+
+    @Test
+    void damagedFilesAreRefusedWithoutTouchingTheGame() throws IOException {
+        byte[] bytes = Files.readAllBytes(saveGame(new GameEngine(CLASSIC), new SplitMixDice(11)));
+        GameEngine engine = new GameEngine(CLASSIC);
+        engine.start(2);
+        engine.playTurn(2);
+
+        // Cut off in the middle of the positions
+        ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 2));
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.read(truncated, engine, new SplitMixDice(1)));
+
+        // Cut off in the header
+        ByteBuffer stub = ByteBuffer.wrap(Arrays.copyOf(bytes, 10));
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.peekPlayerCount(stub));
+
+        // Not a snapshot at all
+        byte[] garbage = bytes.clone();
+        garbage[0] ^= 0x55;
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.read(ByteBuffer.wrap(garbage), engine, null));
+
+        // A token off the board
+        byte[] offBoard = bytes.clone();
+        ByteBuffer.wrap(offBoard).putInt(offBoard.length - 4, 1000);
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.read(ByteBuffer.wrap(offBoard), engine, null));
+
+        assertEquals(2, engine.getPlayerCount());
+        assertEquals(3, engine.getPosition(0));
+        assertEquals(1, engine.getCurrentPlayerIndex());
+    }
+}
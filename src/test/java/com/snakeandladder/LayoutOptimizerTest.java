@@ -0,0 +1,35 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LayoutOptimizerTest {
+
+    @Test
+    void findsTheClassicLength() {
+        LayoutOptimizer optimizer = new LayoutOptimizer(10, 10, 10, 9, 35, 70, 2);
+        LayoutOptimizer.Result result = optimizer.optimize(10_000, 5);
+
+        assertTrue(result.isOnTarget());
+        assertEquals(result.getMeanTurns(), new MarkovSolver(result.getLayout()).expectedTurns(), 1e-6);
+    }
+
+    @Test
+    void crampedBoardStillMeetsTheDeadline() {
+        // Six snakes on 16 squares, asking for a length that's only reachable by
+        // nearly trapping the player. Moves that trap them must be turned down and
+        // the slow ones cut short, or this never comes back.
+        LayoutOptimizer optimizer = new LayoutOptimizer(4, 4, 6, 0, 500, 1000, 1);
+        for (long seed = 1; seed <= 5; seed++) {
+            long s = seed;
+            LayoutOptimizer.Result result = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> optimizer.optimize(500, s));
+            assertTrue(new MarkovSolver(result.getLayout()).canFinish());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class LockstepSimulatorTest {
+
+    private static final BoardLayout CLASSIC = BoardLayout.classic();
+
+    private static LockstepKernel vectorKernel() {
+        try {
+            return new VectorLockstepKernel(CLASSIC);
+        } catch (UnsupportedOperationException e) {
+            assumeTrue(false, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void assertSameResult(SimulationResult expected, SimulationResult actual) {
+        assertEquals(expected.getGames(), actual.getGames());
+        assertEquals(expected.getTotalTurns(), actual.getTotalTurns());
+        for (int seat = 0; seat < expected.getPlayerCount(); seat++) {
+            assertEquals(expected.getWinRate(seat), actual.getWinRate(seat));
+        }
+        for (int percent = 1; percent <= 100; percent++) {
+            assertEquals(expected.getLengthPercentile(percent / 100.0), actual.getLengthPercentile(percent / 100.0));
+        }
+    }
+
+    @Test
+    void bothKernelsPlayTheSameGames() {
+        LockstepKernel vector = vectorKernel();
+        for (int players = 2; players <= 4; players++) {
+            LockstepSimulator scalarRun = new LockstepSimulator(CLASSIC, players, 256, new ScalarLockstepKernel(CLASSIC));
+            LockstepSimulator vectorRun = new LockstepSimulator(CLASSIC, players, 256, vector);
+            assertSameResult(scalarRun.run(20_000, 42), vectorRun.run(20_000, 42));
+        }
+    }
+
+    @Test
+    void fewerGamesThanLanes() {
+        LockstepSimulator scalarRun = new LockstepSimulator(CLASSIC, 2, 4096, new ScalarLockstepKernel(CLASSIC));
+        SimulationResult result = scalarRun.run(10, 7);
+        assertEquals(10, result.getGames());
+        assertTrue(result.getMeanLength() > 0);
+
+        LockstepSimulator vectorRun = new LockstepSimulator(CLASSIC, 2, 4096, vectorKernel());
+        assertSameResult(result, vectorRun.run(10, 7));
+    }
+
+    @Test
+    void meanLengthMatchesTheSolver() {
+        double exact = new MarkovSolver(CLASSIC).solveGame(2).getExpectedLength();
+        SimulationResult result = new LockstepSimulator(CLASSIC, 2).run(200_000, 3);
+
+        assertEquals(200_000, result.getGames());
+        // Four of the simulation's own 95% half-widths, so a correct kernel
+        // practically never fails this
+        assertEquals(exact, result.getMeanLength(), 4 * result.getMeanLengthError());
+    }
+}
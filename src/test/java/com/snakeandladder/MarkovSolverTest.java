@@ -0,0 +1,67 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarkovSolverTest {
+
+    @Test
+    void classicBoardExpectedTurns() {
+        MarkovSolver solver = new MarkovSolver(BoardLayout.classic());
+        assertTrue(solver.canFinish());
+        assertEquals(39.877621, solver.expectedTurns(), 1e-6);
+
+        // Same number from actually playing: one player, 200k seeded games
+        GameEngine engine = new GameEngine(BoardLayout.classic());
+        SplitMixDice dice = DiceSource.seeded(42);
+        long turns = 0;
+        int games = 200_000;
+        for (int i = 0; i < games; i++) {
+            engine.start(1);
+            engine.playToEnd(dice);
+            turns += engine.getTurnCount();
+        }
+        assertEquals(solver.expectedTurns(), (double) turns / games, 0.3);
+    }
+
+    @Test
+    void classicBoardGameOddsAddUp() {
+        MarkovSolver.GameOdds odds = new MarkovSolver(BoardLayout.classic()).solveGame(2);
+        assertEquals(1.0, odds.getWinProbability(0) + odds.getWinProbability(1), 1e-9);
+        assertEquals(53.467853, odds.getExpectedLength(), 1e-6);
+    }
+
+    @Test
+    void unreachableLastSquareIsRejected() {
+        MarkovSolver solver = new MarkovSolver(BoardLayout.classic());
+        solver.setJump(80, 80); // Without the ladder straight to 100
+        // Snakes on all six squares before the last one: it can never be reached
+        for (int square = 94; square <= 99; square++) {
+            solver.setJump(square, 10);
+        }
+        assertFalse(solver.canFinish());
+        assertThrows(IllegalArgumentException.class, solver::expectedTurns);
+        assertThrows(IllegalArgumentException.class, () -> solver.turnDistribution(MarkovSolver.DEFAULT_EPSILON));
+        assertThrows(IllegalArgumentException.class, () -> solver.soloPercentile(0.95));
+        assertThrows(IllegalArgumentException.class, () -> solver.solveGame(2));
+    }
+
+    @Test
+    void undoingTheTrapMakesItSolvableAgain() {
+        MarkovSolver solver = new MarkovSolver(BoardLayout.classic());
+        solver.setJump(80, 80);
+        for (int square = 94; square <= 99; square++) {
+            if (square != 96) solver.setJump(square, 10);
+        }
+        assertTrue(solver.canFinish()); // 96 is still a way in
+        solver.setJump(96, 10);
+        assertFalse(solver.canFinish());
+        solver.setJump(96, 96);
+        assertTrue(solver.canFinish());
+        assertTrue(Double.isFinite(solver.expectedTurns()));
+    }
+}
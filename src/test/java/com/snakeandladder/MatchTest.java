@@ -0,0 +1,49 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchTest {
+
+    @Test
+    void rollAfterTheEndFails() throws InterruptedException {
+        Match match = new Match(1, BoardLayout.classic(), 2, DiceSource.seeded(1), new boolean[] {true, true}, () -> { });
+        Thread t = new Thread(match);
+        t.start();
+        t.join();
+
+        CompletableFuture<TurnOutcome> late = match.roll(0);
+        assertThrows(CompletionException.class, late::join);
+    }
+
+    @Test
+    void rollsRacingTheEndAlwaysComplete() throws InterruptedException {
+        // All-bot matches finish on their own while we keep asking to roll. Every
+        // request has to be answered one way or the other, none may be left hanging.
+        for (int m = 0; m < 50; m++) {
+            Match match = new Match(m, BoardLayout.classic(), 2, DiceSource.seeded(m), new boolean[] {true, true}, () -> { });
+            Thread t = new Thread(match);
+            List<CompletableFuture<TurnOutcome>> futures = new ArrayList<>();
+            t.start();
+            while (!match.isFinished()) {
+                futures.add(match.roll(0));
+                Thread.yield();
+            }
+            futures.add(match.roll(0));
+            t.join();
+
+            for (CompletableFuture<TurnOutcome> f : futures) {
+                assertThrows(Exception.class, () -> f.get(1, TimeUnit.SECONDS));
+                assertTrue(f.isCompletedExceptionally());
+            }
+        }
+    }
+}
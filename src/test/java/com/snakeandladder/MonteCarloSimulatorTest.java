@@ -0,0 +1,69 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonteCarloSimulatorTest {
+
+    private static final BoardLayout CLASSIC = BoardLayout.classic();
+    // MonteCarloSimulator.LEAF_GAMES, the size of one streamed chunk
+    private static final long CHUNK = 1 << 14;
+
+    private static void assertSameCounts(SimulationResult expected, SimulationResult actual) {
+        assertEquals(expected.getGames(), actual.getGames());
+        assertEquals(expected.getTotalTurns(), actual.getTotalTurns());
+        for (int seat = 0; seat < expected.getPlayerCount(); seat++) {
+            assertEquals(expected.getWinRate(seat), actual.getWinRate(seat));
+        }
+        for (int percent = 1; percent <= 100; percent++) {
+            assertEquals(expected.getLengthPercentile(percent / 100.0), actual.getLengthPercentile(percent / 100.0));
+        }
+        for (int s = 0; s < CLASSIC.getSnakeCount(); s++) {
+            int head = CLASSIC.getSnakeHead(s);
+            assertEquals(expected.getSnakeHits(head), actual.getSnakeHits(head));
+        }
+        for (int l = 0; l < CLASSIC.getLadderCount(); l++) {
+            int bottom = CLASSIC.getLadderBottom(l);
+            assertEquals(expected.getLadderHits(bottom), actual.getLadderHits(bottom));
+        }
+    }
+
+    @Test
+    void mergedResultsDontDependOnTheThreadCount() throws InterruptedException {
+        long games = 3 * CHUNK + 123;
+        SimulationResult oneThread = new MonteCarloSimulator(CLASSIC, 2, 1).run(games, 5);
+        assertEquals(games, oneThread.getGames());
+        assertSameCounts(oneThread, new MonteCarloSimulator(CLASSIC, 2, 4).run(games, 5));
+
+        // Streaming merges each worker's accumulator into the total instead
+        SimulationResult streamed = new MonteCarloSimulator(CLASSIC, 2, 1).stream(games, 5, 10, null);
+        assertEquals(games, streamed.getGames());
+        assertSameCounts(streamed, new MonteCarloSimulator(CLASSIC, 2, 4).stream(games, 5, 10, null));
+
+        // Different dice from run(), but the same game
+        double mean = new MarkovSolver(CLASSIC).solveGame(2).getExpectedLength();
+        assertEquals(mean, streamed.getMeanLength(), 4 * streamed.getMeanLengthError());
+        assertEquals(mean, oneThread.getMeanLength(), 4 * oneThread.getMeanLengthError());
+    }
+
+    @Test
+    void stopPredicateEndsTheRunEarly() throws InterruptedException {
+        SimulationResult result = new MonteCarloSimulator(CLASSIC, 2, 2)
+                .stream(Long.MAX_VALUE - CHUNK, 9, 5, snapshot -> snapshot.getGames() > 0);
+
+        assertTrue(result.getGames() > 0);
+        // Only whole chunks are merged
+        assertEquals(0, result.getGames() % CHUNK);
+    }
+
+    @Test
+    void emptyResult() {
+        SimulationResult empty = new SimulationResult(2, CLASSIC.getFinalSquare());
+        assertEquals(0, empty.getLengthPercentile(0.5));
+        assertEquals(0, empty.getLengthPercentile(1.0));
+        assertEquals(0, empty.getMeanLength());
+        assertEquals(Double.POSITIVE_INFINITY, empty.getMeanLengthError());
+    }
+}
@@ -0,0 +1,86 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MoveTableTest {
+
+    @TempDir
+    Path dir;
+
+    private static final BoardLayout CLASSIC = BoardLayout.classic();
+
+    @Test
+    void movesMatchTheEngine() {
+        MoveTable table = MoveTable.of(CLASSIC);
+        GameEngine engine = new GameEngine(CLASSIC);
+
+        for (int square = 1; square < CLASSIC.getFinalSquare(); square++) {
+            for (int roll = 1; roll <= DiceSource.FACES; roll++) {
+                engine.restore(1, 0, -1, 0);
+                engine.setPosition(0, square);
+                GameEngine.TurnResult result = engine.playTurn(roll);
+
+                String move = square + " + " + roll;
+                assertEquals(result, table.getResult(square, roll), move);
+                assertEquals(engine.getPosition(0), table.getDestination(square, roll), move);
+                assertEquals(engine.getLastLanding(), table.getLanding(square, roll), move);
+            }
+        }
+    }
+
+    @Test
+    void expectedRemainingMatchesTheSolver() {
+        MoveTable table = MoveTable.of(CLASSIC);
+        double[] exact = new MarkovSolver(CLASSIC).expectedTurnsFrom();
+
+        for (int square = 1; square <= CLASSIC.getFinalSquare(); square++) {
+            assertEquals(exact[square], table.getExpectedRemaining(square), 1e-9, "square " + square);
+        }
+        for (int roll = 1; roll <= DiceSource.FACES; roll++) {
+            assertEquals(exact[table.getDestination(1, roll)], table.getExpectedRemainingAfter(1, roll), 1e-9);
+        }
+    }
+
+    private static void save(BoardLayout layout, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            LayoutLoader.write(layout, writer);
+        }
+    }
+
+    @Test
+    void tablesAreCachedPerLayout() throws IOException {
+        Path file = dir.resolve("board.txt");
+        save(CLASSIC, file);
+        BoardLayout loaded = LayoutLoader.load(file);
+        MoveTable table = MoveTable.of(loaded);
+
+        assertSame(table, MoveTable.of(loaded));
+        assertSame(table, MoveTable.of(LayoutLoader.load(file)));
+
+        // A changed file is a new layout, and gets a new table
+        BoardLayout plain = new BoardLayout(10, 10, Map.of(), Map.of());
+        save(plain, file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10_000));
+        BoardLayout reloaded = LayoutLoader.load(file);
+        MoveTable fresh = MoveTable.of(reloaded);
+
+        assertNotSame(table, fresh);
+        assertEquals(plain.getId(), fresh.getLayoutId());
+        // The classic ladder at 51 is gone
+        assertEquals(67, table.getDestination(45, 6));
+        assertEquals(51, fresh.getDestination(45, 6));
+    }
+}
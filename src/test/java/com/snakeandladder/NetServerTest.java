@@ -0,0 +1,94 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NetServerTest {
+
+    private NetServer server;
+    private Thread serverThread;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new NetServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), BoardLayout.classic(), 1);
+        serverThread = new Thread(server, "net-server");
+        serverThread.start();
+        address = server.getAddress();
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        server.close();
+        serverThread.join(5000);
+    }
+
+    private static void send(SocketChannel channel, byte... bytes) throws IOException {
+        ByteBuffer out = ByteBuffer.wrap(bytes);
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    // Blocks for one frame and returns its type and payload, or null once the server hangs up
+    private static ByteBuffer readFrame(SocketChannel channel) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(NetProtocol.MAX_FRAME + 2);
+        while (true) {
+            in.flip();
+            int end = NetProtocol.completeFrameEnd(in);
+            if (end != -1) {
+                in.limit(end).position(2);
+                return in;
+            }
+            in.position(in.limit()).limit(in.capacity());
+            if (channel.read(in) < 0) return null;
+        }
+    }
+
+    private void assertServerStillPlays() throws IOException {
+        assertTrue(NetClient.playLoopbackGame(address, 7, 2, 1) > 0);
+    }
+
+    @Test
+    void shortFrameGetsAnErrorAndKeepsTheConnection() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            // A JOIN that claims a one byte frame, so no payload at all
+            send(channel, (byte) 0, (byte) 1, (byte) NetProtocol.JOIN);
+            ByteBuffer frame = readFrame(channel);
+            assertEquals(NetProtocol.ERROR, frame.get());
+            assertTrue(NetProtocol.getError(frame).contains("needs 6 bytes"));
+
+            // The same connection can still join properly afterwards
+            send(channel, (byte) 0, (byte) 7, (byte) NetProtocol.JOIN, (byte) 0, (byte) 0, (byte) 0, (byte) 3,
+                    (byte) 2, (byte) NetProtocol.SPECTATOR);
+            assertEquals(NetProtocol.WELCOME, readFrame(channel).get());
+        }
+        assertServerStillPlays();
+    }
+
+    @Test
+    void garbageOnlyDropsThatClient() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            send(channel, (byte) 0, (byte) 3, (byte) 99, (byte) 1, (byte) 2);
+            ByteBuffer frame = readFrame(channel);
+            assertEquals(NetProtocol.ERROR, frame.get());
+            assertTrue(NetProtocol.getError(frame).contains("Unknown frame type 99"));
+
+            // An empty frame has no type at all, the server hangs up
+            send(channel, (byte) 0, (byte) 0);
+            assertNull(readFrame(channel));
+        }
+        assertServerStillPlays();
+    }
+}
@@ -0,0 +1,46 @@
+package com.snakeandladder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TournamentTest {
+
+    private static final List<PlayerStrategy> GREEDY_VS_RANDOM = List.of(BotStrategy.GREEDY, BotStrategy.RANDOM);
+
+    @Test
+    void greedyRanksAboveRandom() {
+        TournamentResult result = new Tournament(BoardLayout.classic(), RuleVariant.TWO_DICE, GREEDY_VS_RANDOM, 2)
+                .run(20_000, 1);
+
+        assertEquals(20_000, result.getTotalGames());
+        assertEquals(20_000, result.getWins(0, 1) + result.getWins(1, 0));
+        assertTrue(result.getWins(0, 1) > result.getWins(1, 0));
+        double[] ratings = result.getRatings();
+        assertTrue(ratings[0] > ratings[1] + 100);
+        // Centred on the base rating
+        assertEquals(3000, ratings[0] + ratings[1], 1e-6);
+    }
+
+    @Test
+    void resultsOnlyDependOnTheSeed() {
+        List<PlayerStrategy> all = List.of(BotStrategy.values());
+        TournamentResult oneThread = new Tournament(BoardLayout.classic(), RuleVariant.TWO_DICE, all, 1).run(5_000, 3);
+        TournamentResult fourThreads = new Tournament(BoardLayout.classic(), RuleVariant.TWO_DICE, all, 4).run(5_000, 3);
+
+        assertEquals(5_000L * all.size() * (all.size() - 1) / 2, oneThread.getTotalGames());
+        assertEquals(oneThread.getTotalTurns(), fourThreads.getTotalTurns());
+        assertArrayEquals(oneThread.getRatings(), fourThreads.getRatings());
+    }
+
+    @Test
+    void needsTwoStrategies() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(BoardLayout.classic(), RuleVariant.CLASSIC, List.of(BotStrategy.GREEDY), 1));
+    }
+}